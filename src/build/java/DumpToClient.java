@@ -2,6 +2,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
@@ -20,17 +21,25 @@ public class DumpToClient {
         "^\\s+(\\d+) \\| +((?:struct )?BWAPI[^:]*::)?(\\S[^\\[]+)\\s([\\[0-9\\]]+)?\\s?(\\S+)$");
     private static final Pattern SIZE_DECL = Pattern.compile(
         "^\\s+\\| \\[sizeof=(\\d+), align=\\d+.+");
+    // Fields of GameData that only get offset constants, no accessors, as the client searches units on its own
+    private static final List<String> UNIT_SEARCH = Arrays.asList("unitSearchSize", "xUnitSearch", "yUnitSearch");
 
+    /**
+     * Generates bwapi/ClientData.java.
+     * Arguments: the record layout dump (default bwapistructs/dump) and the source root to write to
+     * (default src/main/java).
+     */
     public static void main(String[] args) throws IOException {
+        Path dump = Paths.get(args.length > 0 ? args[0] : "bwapistructs/dump");
+        Path target = Paths.get(args.length > 1 ? args[1] : "src/main/java").resolve("bwapi/ClientData.java");
         Map<String, Struct> structs = new HashMap<>();
 
-        List<String> lines = Files.readAllLines(Paths.get("bwapistructs/dump"));
+        List<String> lines = Files.readAllLines(dump);
         for (int i = 0; i < lines.size(); i++) {
             String line = lines.get(i);
             if (line.contains("| struct BWAPI")) {
                 String structName = line.substring(line.indexOf(':') + 2);
                 Struct struct = structs.computeIfAbsent(structName, Struct::new);
-                System.out.println("Parsing: " + structName);
                 while (++i < lines.size()) {
                     line = lines.get(i);
                     if (line.contains("   class ")) {
@@ -92,18 +101,34 @@ public class DumpToClient {
             out.println("package bwapi;");
             out.println("import java.nio.ByteBuffer;");
             out.println("final class ClientData {");
-            out.println("    private final WrappedBuffer buffer;");
+            out.println("    private WrappedBuffer buffer;");
             out.println("    ClientData(final ByteBuffer buffer) {");
             out.println("        this.buffer = new WrappedBuffer(buffer);");
             out.println("    }");
+            out.println("    // All wrappers of this instance read from the new buffer afterwards");
+            out.println("    void setBuffer(final ByteBuffer buffer) {");
+            out.println("        this.buffer = new WrappedBuffer(buffer);");
+            out.println("    }");
             structs.values().forEach(s -> {
                 out.printf("    class %s {\n", s.name);
                 out.printf("        static final int SIZE = %d;\n", s.size);
-                out.println("        private int myOffset;");
+                s.variables.forEach(v ->
+                    out.printf("        static final int %s = %d;\n", constantName(v), v.offset));
+                out.println("        private final int myOffset;");
                 out.printf("        public %s(int myOffset) {\n", s.name);
                 out.println("          this.myOffset = myOffset;");
                 out.println("        }");
                 s.variables.forEach(v -> {
+                    if (s.name.equals("GameData") && UNIT_SEARCH.contains(v.name)) {
+                        // FrameBuffer snapshots do not hold these tables either
+                        return;
+                    }
+                    if (v.type == Type.STRUCT) {
+                        // Struct wrappers are created once and reused, so the getters don't allocate
+                        int count = v.arraySizes.stream().reduce(1, (a, b) -> a * b);
+                        out.printf("        private final %s[] %s = new %s[%d];\n",
+                            v.structRef.name, cacheName(v), v.structRef.name, count);
+                    }
                     out.print("        ");
                     switch (v.type) {
                         case INT:
@@ -143,6 +168,7 @@ public class DumpToClient {
                         out.printf(" get%s(", camelCaseName);
                     }
                     List<String> params = new ArrayList<>();
+                    List<String> flatIndex = new ArrayList<>();
                     String offsetString;
                     int arrayIndices = v.arraySizes.size();
                     if (v.type == Type.CHAR) {
@@ -170,15 +196,27 @@ public class DumpToClient {
                                 params.add("int " + (char) ('i' + arrayIndices - 1 - i));
                                 index.add(
                                     size + " * " + offset + " * " + (char) ('i' + i));
+                                flatIndex.add(offset + " * " + (char) ('i' + i));
                             }
                             offset *= v.arraySizes.get(i);
                         }
-                        offsetString = "myOffset + " + v.offset + " + " + String.join(" + ", index);
+                        offsetString = "myOffset + " + constantName(v) + " + " + String.join(" + ", index);
                     } else {
-                        offsetString = "myOffset + " + v.offset;
+                        offsetString = "myOffset + " + constantName(v);
                     }
                     String paramString = String.join(", ", params);
                     out.printf("%s) {\n", paramString);
+                    if (v.type == Type.STRUCT) {
+                        String cacheIndex = flatIndex.isEmpty() ? "0" : String.join(" + ", flatIndex);
+                        out.printf("            %s value = %s[%s];\n", v.structRef.name, cacheName(v), cacheIndex);
+                        out.println("            if (value == null) {");
+                        out.printf("                value = new %s(%s);\n", v.structRef.name, offsetString);
+                        out.printf("                %s[%s] = value;\n", cacheName(v), cacheIndex);
+                        out.println("            }");
+                        out.println("            return value;");
+                        out.println("        }");
+                        return;
+                    }
                     out.printf("            int offset = %s;\n", offsetString);
                     out.print("            return ");
                     switch (v.type) {
@@ -196,9 +234,6 @@ public class DumpToClient {
                         case DOUBLE:
                             out.print("buffer.getDouble(offset)");
                             break;
-                        case STRUCT:
-                            out.printf("new %s(offset)", v.structRef.name);
-                            break;
                         case BOOLEAN:
                             out.print("buffer.getByte(offset) != 0");
                             break;
@@ -259,11 +294,30 @@ public class DumpToClient {
             });
             out.println("}");
         }
-        Files.write(Paths.get("src/main/java/bwapi/ClientData.java"),
+        Files.createDirectories(target.getParent());
+        Files.write(target,
             Collections.singleton(sw.toString()),
             StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE);
     }
 
+    // eventCount -> EVENT_COUNT, botAPM_noselects -> BOT_APM_NOSELECTS
+    private static String constantName(Variable v) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < v.name.length(); i++) {
+            char c = v.name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(v.name.charAt(i - 1))
+                && v.name.charAt(i - 1) != '_') {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.toString();
+    }
+
+    private static String cacheName(Variable v) {
+        return v.name + "Cache";
+    }
+
     public enum Type {
         STRUCT,
         BOOLEAN,
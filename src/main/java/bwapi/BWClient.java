@@ -1,12 +1,15 @@
 package bwapi;
 
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 public class BWClient {
     private final BWEventListener eventListener;
 
     private Client client;
     private EventHandler handler;
+    private EventBuffer eventBuffer;
 
 
     public BWClient(final BWEventListener eventListener) {
@@ -18,7 +21,19 @@ public class BWClient {
         return handler == null ? null : handler.getGame();
     }
 
+    /**
+     * @return the events of the last frames, or null if {@link BWClientConfiguration#eventBufferCapacity} was not set.
+     * Available from the start of the game, e.g. to create the cursors in {@link BWEventListener#onStart()}.
+     */
+    public EventBuffer getEventBuffer() {
+        return eventBuffer;
+    }
+
     public void startGame() {
+        startGame(new BWClientConfiguration());
+    }
+
+    public void startGame(final BWClientConfiguration configuration) {
         while (client == null) {
             try {
                 client = new Client();
@@ -31,17 +46,95 @@ public class BWClient {
             }
         }
 
+        try {
+            if (configuration.eventBufferCapacity > 0) {
+                eventBuffer = new EventBuffer(configuration.eventBufferCapacity);
+                client.setEventBuffer(eventBuffer);
+            }
+            if (configuration.recordPath != null) {
+                client.startRecording(configuration.recordPath);
+            }
+            if (configuration.async) {
+                playAsync(configuration);
+            } else {
+                handler = new EventHandler(eventListener, client);
+                while (!client.data().isInGame()) {
+                    client.update(handler);
+                }
+                while (client.data().isInGame()) {
+                    client.update(handler);
+                }
+            }
+        } catch (final Exception exception) {
+            exception.printStackTrace();
+        } finally {
+            client.stopRecording();
+        }
+    }
+
+    private void playAsync(final BWClientConfiguration configuration) throws Exception {
+        final FrameBuffer frames = new FrameBuffer(client.sharedMemory(), configuration.asyncFrameBufferCapacity);
+        final ClientData snapshots = new ClientData(frames.slot(0));
+        client.readFrom(snapshots);
         handler = new EventHandler(eventListener, client);
 
+        final Thread bot = new Thread(() -> runBot(frames, snapshots), "BWClient-bot");
+        bot.setDaemon(true);
+        bot.start();
         try {
-            while (!client.data().isInGame()) {
-                client.update(handler);
+            final long maxFrameDuration = TimeUnit.MILLISECONDS.toNanos(configuration.maxFrameDurationMs);
+            while (!client.liveData().isInGame()) {
+                stepAsync(frames, maxFrameDuration);
+            }
+            while (client.liveData().isInGame()) {
+                stepAsync(frames, maxFrameDuration);
             }
-            while (client.data().isInGame()) {
+            // Let the bot see the end of the game
+            frames.awaitEmpty(Long.MAX_VALUE);
+        } finally {
+            bot.interrupt();
+        }
+    }
+
+    private void stepAsync(final FrameBuffer frames, final long maxFrameDuration) throws Exception {
+        client.update();
+        final long start = System.nanoTime();
+        frames.enqueue();
+        frames.awaitEmpty(maxFrameDuration - (System.nanoTime() - start));
+    }
+
+    private void runBot(final FrameBuffer frames, final ClientData snapshots) {
+        try {
+            while (true) {
+                snapshots.setBuffer(frames.next());
+                try {
+                    client.dispatchEvents(handler);
+                } catch (final RuntimeException exception) {
+                    // The game goes on without waiting for the bot, so the bot has to go on as well
+                    exception.printStackTrace();
+                }
+                frames.release();
+            }
+        } catch (final InterruptedException ignored) {
+        } catch (final Throwable failure) {
+            frames.fail(failure);
+        }
+    }
+
+    /**
+     * Plays a game recorded with {@link BWClientConfiguration#recordPath} through the event listener as fast as
+     * possible, without StarCraft. Commands issued by the bot have no effect on the replay.
+     */
+    public void replayGame(final Path path) {
+        try {
+            final FrameLog log = new FrameLog(path);
+            client = new Client(log);
+            handler = new EventHandler(eventListener, client);
+            while (log.hasNext()) {
                 client.update(handler);
             }
         } catch (final Exception exception) {
             exception.printStackTrace();
         }
     }
-}
\ No newline at end of file
+}
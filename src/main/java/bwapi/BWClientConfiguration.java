@@ -0,0 +1,40 @@
+package bwapi;
+
+import java.nio.file.Path;
+
+/**
+ * Optional settings for {@link BWClient#startGame(BWClientConfiguration)}.
+ */
+public class BWClientConfiguration {
+    /**
+     * When set, the game data of every frame is recorded to this file, with an index file next to it (".idx" appended).
+     * Only the changes between frames are stored and the log is compressed in the background, so recording can be
+     * left enabled in real games.
+     */
+    public Path recordPath;
+
+    /**
+     * Runs the bot on its own thread, so that slow frames do not slow down the game.
+     * Each frame is copied into a snapshot which the bot works through in order. The client answers BWAPI as soon
+     * as the bot is done with all snapshots or after {@link #maxFrameDurationMs}, whichever comes first.
+     * Commands issued after that are sent with a later frame.
+     */
+    public boolean async;
+
+    /**
+     * How long a frame may take in the asynchronous mode before the game continues without the bot.
+     */
+    public int maxFrameDurationMs = 40;
+
+    /**
+     * How many frames the bot may fall behind in the asynchronous mode before the game waits for it.
+     * Each frame takes about 11 MB.
+     */
+    public int asyncFrameBufferCapacity = 10;
+
+    /**
+     * When positive, every event is also written to an {@link EventBuffer} of this many events, see
+     * {@link BWClient#getEventBuffer()}.
+     */
+    public int eventBufferCapacity;
+}
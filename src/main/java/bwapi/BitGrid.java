@@ -0,0 +1,47 @@
+package bwapi;
+
+import java.util.Arrays;
+
+/**
+ * A width x height grid of booleans packed row by row into a long[], one bit per cell.
+ */
+class BitGrid {
+    final int width;
+    final int height;
+    private final long[] bits;
+
+    BitGrid(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+        bits = new long[(width * height + 63) >> 6];
+    }
+
+    boolean get(final int x, final int y) {
+        final int i = y * width + x;
+        return (bits[i >> 6] & (1L << i)) != 0;
+    }
+
+    void set(final int x, final int y, final boolean value) {
+        final int i = y * width + x;
+        if (value) {
+            bits[i >> 6] |= 1L << i;
+        } else {
+            bits[i >> 6] &= ~(1L << i);
+        }
+    }
+
+    /**
+     * Sets the cell and reports whether that changed it.
+     */
+    boolean update(final int x, final int y, final boolean value) {
+        final int i = y * width + x;
+        final long word = bits[i >> 6];
+        final long updated = value ? word | (1L << i) : word & ~(1L << i);
+        bits[i >> 6] = updated;
+        return updated != word;
+    }
+
+    void clear() {
+        Arrays.fill(bits, 0);
+    }
+}
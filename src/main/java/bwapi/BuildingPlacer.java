@@ -1,17 +1,13 @@
 package bwapi;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 class BuildingPlacer {
     private static final int MAX_RANGE = 64;
-    private static TilePosition gDirections[] = {
-            new TilePosition(1, 1),
-            new TilePosition(0, 1),
-            new TilePosition(-1, 1),
-            new TilePosition(1, 0),
-            new TilePosition(-1, 0),
-            new TilePosition(1, -1),
-            new TilePosition(0, -1),
-            new TilePosition(-1, -1)
-    };
+    private static final int[] directionX = {1, 0, -1, 1, -1, 1, 0, -1};
+    private static final int[] directionY = {1, 1, 1, 0, 0, -1, -1, -1};
     private static BuildTemplate buildTemplates[] = // [13 + 1]
             {
                     new BuildTemplate(32, 0, 0, 1),
@@ -29,8 +25,42 @@ class BuildingPlacer {
                     new BuildTemplate(0, 28, 1, 0),
                     new BuildTemplate(-1, 0, 0, 0) // last
             };
+    // The reserve is reused by all searches of a thread
+    private static final ThreadLocal<PlacementReserve> reserves = ThreadLocal.withInitial(PlacementReserve::new);
+
+    static TilePosition getBuildLocation(final UnitType type, final TilePosition desiredPosition, final int maxRange, final Game game) {
+        return getBuildLocation(type, desiredPosition, maxRange, game, PlacementDistance.AIR);
+    }
+
+    static TilePosition getBuildLocation(final UnitType type, final TilePosition desiredPosition, final int maxRange, final Game game, final PlacementDistance distance) {
+        return findLocation(reserves.get(), type, desiredPosition, maxRange, game, distance, null, null, 0);
+    }
+
+    /**
+     * Places the buildings one after another, each one is kept clear of the locations found for the ones before it.
+     *
+     * @return a location for every type, in the same order, TilePosition.None if there is no location for a type
+     */
+    static List<TilePosition> getBuildLocations(final List<UnitType> types, final TilePosition desiredPosition, final int maxRange, final Game game, final PlacementDistance distance) {
+        final PlacementReserve reserve = reserves.get();
+        final List<TilePosition> locations = new ArrayList<>(types.size());
+        final UnitType[] placedTypes = new UnitType[types.size()];
+        final TilePosition[] placedLocations = new TilePosition[types.size()];
+        int placed = 0;
+        for (final UnitType type : types) {
+            final TilePosition location = findLocation(reserve, type, desiredPosition, maxRange, game, distance, placedTypes, placedLocations, placed);
+            locations.add(location);
+            if (location != TilePosition.None && location != TilePosition.Invalid) {
+                placedTypes[placed] = type;
+                placedLocations[placed] = location;
+                placed++;
+            }
+        }
+        return locations;
+    }
 
-    static TilePosition getBuildLocation(final UnitType type, final TilePosition desiredPosition1, final int maxRange, final boolean creep, final Game game) {
+    private static TilePosition findLocation(final PlacementReserve reserve, final UnitType type, final TilePosition desiredPosition1, final int maxRange, final Game game, final PlacementDistance distance,
+                                             final UnitType[] placedTypes, final TilePosition[] placedLocations, final int placed) {
         // Make sure the type is compatible
         if (!type.isBuilding()) {
             return TilePosition.Invalid;
@@ -40,7 +70,6 @@ class BuildingPlacer {
 
         // Do type-specific checks
         boolean trimPlacement = true;
-        Region pTargRegion = null;
         switch (type) {
             case Protoss_Pylon:
                 final Unit pSpecialUnitTarget = game.getClosestUnitInRadius(
@@ -63,63 +92,58 @@ class BuildingPlacer {
                 break;
         }
 
-        final PlacementReserve reserve = new PlacementReserve(maxRange);
+        reserve.setMaxSearch(maxRange);
         ReservePlacement(reserve, type, desiredPosition, game);
 
+        // Keep clear of the buildings placed earlier in the same batch
+        for (int i = 0; i < placed; i++) {
+            final TilePosition location = placedLocations[i];
+            final int width = placedTypes[i].tileWidth();
+            final int height = placedTypes[i].tileHeight();
+            ReserveStructureWithPadding(reserve, location.x + width / 2, location.y + height / 2, width, height, 1, type, desiredPosition);
+        }
+
         if (trimPlacement) {
             reserveTemplateSpacing(reserve);
         }
-        final TilePosition centerPosition = desiredPosition.subtract(new TilePosition(MAX_RANGE, MAX_RANGE).divide(2));
-        if (pTargRegion != null) {
-            desiredPosition = pTargRegion.getCenter().toTilePosition();
-        }
-        // Find the best position
-        int bestDistance;
-        int fallbackDistance;
-        TilePosition bestPosition;
-        TilePosition fallbackPosition;
-
-        bestDistance = fallbackDistance = 999999;
-        bestPosition = fallbackPosition = TilePosition.None;
-        for (int passCount = 0; passCount < (pTargRegion != null ? 2 : 1); ++passCount) {
-            for (int y = 0; y < MAX_RANGE; ++y) {
-                for (int x = 0; x < MAX_RANGE; ++x) {
-                    // Ignore if space is reserved
-                    if (reserve.getValue(x, y) == 0) {
-                        continue;
-                    }
-                    final TilePosition currentPosition = new TilePosition(x, y).add(centerPosition);
-                    //Broodwar->getGroundDistance( desiredPosition, currentPosition );
-                    final int currentDistance = desiredPosition.toPosition().getApproxDistance(currentPosition.toPosition());
-                    if (currentDistance < bestDistance) {
-                        if (currentDistance <= maxRange) {
-                            bestDistance = currentDistance;
-                            bestPosition = currentPosition;
-                        } else if (currentDistance < fallbackDistance) {
-                            fallbackDistance = currentDistance;
-                            fallbackPosition = currentPosition;
-                        }
-                    }
-                }
-                // Break pass if position is found
-                if (bestPosition != TilePosition.None) {
-                    break;
-                }
+        final int startX = desiredPosition.x - MAX_RANGE / 2;
+        final int startY = desiredPosition.y - MAX_RANGE / 2;
 
-                // Break if an alternative position was found
-                if (fallbackPosition != TilePosition.None) {
-                    bestPosition = fallbackPosition;
-                    break;
+        // Find the best position
+        int bestDistance = 999999;
+        int fallbackDistance = 999999;
+        int bestX = -1;
+        int bestY = -1;
+        int fallbackX = -1;
+        int fallbackY = -1;
+        for (int y = 0; y < MAX_RANGE; ++y) {
+            for (int x = 0; x < MAX_RANGE; ++x) {
+                // Ignore if space is reserved
+                if (reserve.getValue(x, y) == 0) {
+                    continue;
                 }
-
-                // If we were really targetting a region, and couldn't find a position above
-                if (pTargRegion != null) { // Then fallback to the default build position
-                    desiredPosition = centerPosition;
+                final int currentDistance = distance.getDistance(desiredPosition.x, desiredPosition.y, startX + x, startY + y);
+                if (currentDistance < bestDistance) {
+                    if (currentDistance <= maxRange) {
+                        bestDistance = currentDistance;
+                        bestX = x;
+                        bestY = y;
+                    } else if (currentDistance < fallbackDistance) {
+                        fallbackDistance = currentDistance;
+                        fallbackX = x;
+                        fallbackY = y;
+                    }
                 }
             }
         }
-
-        return bestPosition;
+        if (bestX >= 0) {
+            return new TilePosition(startX + bestX, startY + bestY);
+        }
+        // Use an alternative position if there is one
+        if (fallbackX >= 0) {
+            return new TilePosition(startX + fallbackX, startY + fallbackY);
+        }
+        return TilePosition.None;
     }
 
     private static void ReservePlacement(final PlacementReserve reserve, final UnitType type, final TilePosition desiredPosition, final Game game) {
@@ -132,12 +156,17 @@ class BuildingPlacer {
         // @TODO: Assign 0 to all locations that have a ground distance > maxRange
 
         // exclude positions off the map
-        final TilePosition start = desiredPosition.subtract(new TilePosition(MAX_RANGE, MAX_RANGE).divide(2));
-        reserve.iterate((pr, x, y) -> {
-            if (!(start.add(new TilePosition(x, y)).isValid(game))) {
-                pr.setValue(x, y, (byte) 0);
+        final int startX = desiredPosition.x - MAX_RANGE / 2;
+        final int startY = desiredPosition.y - MAX_RANGE / 2;
+        final int mapWidth = game.mapWidth();
+        final int mapHeight = game.mapHeight();
+        for (int y = reserve.searchMin(); y < reserve.searchMax(); ++y) {
+            for (int x = reserve.searchMin(); x < reserve.searchMax(); ++x) {
+                if (startX + x < 0 || startY + y < 0 || startX + x >= mapWidth || startY + y >= mapHeight) {
+                    reserve.setValue(x, y, (byte) 0);
+                }
             }
-        });
+        }
 
         // Return if can't find a valid space
         if (!reserve.hasValidSpace()) {
@@ -180,42 +209,57 @@ class BuildingPlacer {
     }
 
     private static void AssignBuildableLocations(final PlacementReserve reserve, final UnitType type, final TilePosition desiredPosition, final Game game) {
-        final TilePosition start = desiredPosition.subtract(new TilePosition(MAX_RANGE, MAX_RANGE).divide(2));
+        final int startX = desiredPosition.x - MAX_RANGE / 2;
+        final int startY = desiredPosition.y - MAX_RANGE / 2;
 
         // Reserve space for the addon as well
         final boolean hasAddon = type.canBuildAddon();
 
         // Assign 1 to all buildable locations
-        reserve.iterate((pr, x, y) -> {
-            if ((!hasAddon || game.canBuildHere(start.add(new TilePosition(x + 4, y + 1)), UnitType.Terran_Missile_Turret)) &&
-                    game.canBuildHere(start.add(new TilePosition(x, y)), type)) {
-                pr.setValue(x, y, (byte) 1);
+        for (int y = reserve.searchMin(); y < reserve.searchMax(); ++y) {
+            for (int x = reserve.searchMin(); x < reserve.searchMax(); ++x) {
+                if ((!hasAddon || game.canBuildHere(startX + x + 4, startY + y + 1, UnitType.Terran_Missile_Turret)) &&
+                        game.canBuildHere(startX + x, startY + y, type)) {
+                    reserve.setValue(x, y, (byte) 1);
+                }
             }
-        });
+        }
     }
 
     private static void RemoveDisconnected(final PlacementReserve reserve, final TilePosition desiredPosition, final Game game) {
-        final TilePosition start = desiredPosition.subtract(new TilePosition(MAX_RANGE, MAX_RANGE)).divide(2);
-
-        // Assign 0 to all locations that aren't connected
-        reserve.iterate((pr, x, y) -> {
-            if (!game.hasPath(desiredPosition.toPosition(), start.add(new TilePosition(x, y)).toPosition())) {
-                pr.setValue(x, y, (byte) 0);
+        final int startX = desiredPosition.x - MAX_RANGE / 2;
+        final int startY = desiredPosition.y - MAX_RANGE / 2;
+
+        // Assign 0 to all locations that aren't connected, the same as Game.hasPath with the region of the
+        // desired position looked up only once
+        final Region source = game.getRegionAt(desiredPosition.toPosition());
+        for (int y = reserve.searchMin(); y < reserve.searchMax(); ++y) {
+            for (int x = reserve.searchMin(); x < reserve.searchMax(); ++x) {
+                if (reserve.getValue(x, y) == 0) {
+                    continue;
+                }
+                final Region target = source == null ? null : game.getRegionAt((startX + x) * 32, (startY + y) * 32);
+                if (target == null || target.getRegionGroupID() != source.getRegionGroupID()) {
+                    reserve.setValue(x, y, (byte) 0);
+                }
             }
-        });
+        }
     }
 
     private static void ReserveGroundHeight(final PlacementReserve reserve, final TilePosition desiredPosition, final Game game) {
-        final TilePosition start = desiredPosition.subtract(new TilePosition(MAX_RANGE, MAX_RANGE)).divide(2);
+        final int startX = desiredPosition.x - MAX_RANGE / 2;
+        final int startY = desiredPosition.y - MAX_RANGE / 2;
 
         // Exclude locations with a different ground height, but restore a backup in case there are no more build locations
         reserve.backup();
         final int targetHeight = game.getGroundHeight(desiredPosition);
-        reserve.iterate((pr, x, y) -> {
-            if (game.getGroundHeight(start.add(new TilePosition(x, y))) != targetHeight) {
-                pr.setValue(x, y, (byte) 0);
+        for (int y = reserve.searchMin(); y < reserve.searchMax(); ++y) {
+            for (int x = reserve.searchMin(); x < reserve.searchMax(); ++x) {
+                if (game.getGroundHeight(startX + x, startY + y) != targetHeight) {
+                    reserve.setValue(x, y, (byte) 0);
+                }
             }
-        });
+        }
 
         // Restore original if there is nothing left
         reserve.restoreIfInvalid();
@@ -228,42 +272,46 @@ class BuildingPlacer {
         reserve.backup();
 
         // Reserve space around owned resource depots and resource containers
-        game.self().getUnits().stream()
-                .filter(u -> {
-                    final UnitType ut = u.getType();
-                    return u.exists() && (u.isCompleted() || ut.producesLarva() && u.isMorphing()) && ut.isBuilding() && (ut.isResourceDepot() || ut.isRefinery());
-                })
-                .forEach(u -> ReserveStructure(reserve, u, 2, type, desiredPosition));
+        for (final Unit u : game.self().getUnits()) {
+            final UnitType ut = u.getType();
+            if (u.exists() && (u.isCompleted() || ut.producesLarva() && u.isMorphing()) && ut.isBuilding() && (ut.isResourceDepot() || ut.isRefinery())) {
+                ReserveStructure(reserve, u, 2, type, desiredPosition);
+            }
+        }
 
         // Reserve space around neutral resources
         if (type != UnitType.Terran_Bunker) {
-            game.getNeutralUnits().stream()
-                    .filter(u -> u.exists() && u.getType().isResourceContainer())
-                    .forEach(u -> ReserveStructure(reserve, u, 2, type, desiredPosition));
-
+            for (final Unit u : game.getNeutralUnits()) {
+                if (u.exists() && u.getType().isResourceContainer()) {
+                    ReserveStructure(reserve, u, 2, type, desiredPosition);
+                }
+            }
         }
         reserve.restoreIfInvalid();
     }
 
     private static void ReserveExistingAddonPlacement(final PlacementReserve reserve, final TilePosition desiredPosition, final Game game) {
-        final TilePosition start = desiredPosition.subtract(new TilePosition(MAX_RANGE, MAX_RANGE)).divide(2);
+        final int startX = desiredPosition.x - MAX_RANGE / 2;
+        final int startY = desiredPosition.y - MAX_RANGE / 2;
 
         //Exclude addon placement locations
         reserve.backup();
-        game.self().getUnits().stream()
-                .filter(u -> u.exists() && u.getType().canBuildAddon())
-                .forEach(u -> {
-                    final TilePosition addonPos = u.getTilePosition().add(new TilePosition(4, 1)).subtract(start);
-                    reserve.setRange(addonPos, addonPos.add(new TilePosition(2, 2)), (byte) 0);
-                });
+        for (final Unit u : game.self().getUnits()) {
+            if (u.exists() && u.getType().canBuildAddon()) {
+                final TilePosition tilePosition = u.getTilePosition();
+                final int addonX = tilePosition.x + 4 - startX;
+                final int addonY = tilePosition.y + 1 - startY;
+                reserve.setRange(addonX, addonY, addonX + 2, addonY + 2, (byte) 0);
+            }
+        }
 
         // Restore if this gave us no build locations
         reserve.restoreIfInvalid();
     }
 
     private static void ReserveDefault(final PlacementReserve reserve, final UnitType type, final TilePosition desiredPosition, final Game game) {
+        // The backup is the original for the spacing below
         reserve.backup();
-        final PlacementReserve original = reserve;
 
         // Reserve some space around some specific units
         for (final Unit it : game.self().getUnits()) {
@@ -296,15 +344,16 @@ class BuildingPlacer {
             case Protoss_Robotics_Facility:
             case Protoss_Gateway:
             case Protoss_Photon_Cannon:
-                for (int y = 0; y < 64; ++y) {
-                    for (int x = 0; x < 64; ++x) {
+                for (int y = 0; y < MAX_RANGE; ++y) {
+                    for (int x = 0; x < MAX_RANGE; ++x) {
                         for (int dir = 0; dir < 8; ++dir) {
-                            final TilePosition p = new TilePosition(x, y).add(gDirections[dir]);
-                            if (!PlacementReserve.isValidPos(p) || original.getValue(p) == 0) {
-                                reserve.setValue(p, (byte) 0);
+                            final int px = x + directionX[dir];
+                            final int py = y + directionY[dir];
+                            if (!PlacementReserve.isValidPos(px, py) || reserve.getSaved(px, py) == 0) {
+                                reserve.setValue(x, y, (byte) 0);
+                                break;
                             }
                         }
-
                     }
                 }
                 break;
@@ -330,21 +379,20 @@ class BuildingPlacer {
     }
 
     private static void ReserveStructure(final PlacementReserve reserve, final Unit pUnit, final int padding, final UnitType type, final TilePosition desiredPosition) {
-        ReserveStructureWithPadding(reserve, pUnit.getPosition().toTilePosition(), pUnit.getType().tileSize(), padding, type, desiredPosition);
+        final Position position = pUnit.getPosition();
+        final UnitType unitType = pUnit.getType();
+        ReserveStructureWithPadding(reserve, position.x / 32, position.y / 32, unitType.tileWidth(), unitType.tileHeight(), padding, type, desiredPosition);
     }
 
-    private static void ReserveStructureWithPadding(final PlacementReserve reserve, final TilePosition currentPosition, final TilePosition sizeExtra, final int padding, final UnitType type, final TilePosition desiredPosition) {
-        final TilePosition paddingSize = sizeExtra.add(new TilePosition(padding, padding).multiply(2));
-
-        final TilePosition topLeft = currentPosition.subtract(type.tileSize()).subtract(paddingSize.divide(2)).subtract(new TilePosition(1, 1));
-        final TilePosition topLeftRelative = topLeft.subtract(desiredPosition).add(new TilePosition(MAX_RANGE, MAX_RANGE).divide(2));
-        final TilePosition maxSize = topLeftRelative.add(type.tileSize()).add(paddingSize).add(new TilePosition(1, 1));
+    // The structure is given by its center tile, this keeps at least the padding between it and the new building
+    private static void ReserveStructureWithPadding(final PlacementReserve reserve, final int centerX, final int centerY, final int tileWidth, final int tileHeight, final int padding, final UnitType type, final TilePosition desiredPosition) {
+        final int paddingWidth = tileWidth + padding * 2;
+        final int paddingHeight = tileHeight + padding * 2;
 
-        reserve.setRange(topLeftRelative, maxSize, (byte) 0);
-    }
+        final int left = centerX - type.tileWidth() - paddingWidth / 2 - 1 - desiredPosition.x + MAX_RANGE / 2;
+        final int top = centerY - type.tileHeight() - paddingHeight / 2 - 1 - desiredPosition.y + MAX_RANGE / 2;
 
-    interface PlacementReserveExec {
-        void operation(PlacementReserve placementReserve, int x, int y);
+        reserve.setRange(left, top, left + type.tileWidth() + paddingWidth + 1, top + type.tileHeight() + paddingHeight + 1, (byte) 0);
     }
 
     private static class BuildTemplate {
@@ -362,74 +410,59 @@ class BuildingPlacer {
     }
 
     static class PlacementReserve {
-        public final int maxSearch;
-        byte data[][];
-        byte save[][];
-
-        PlacementReserve(final int maxRange) {
-            maxSearch = Math.min(Math.max(0, maxRange), MAX_RANGE);
-            reset();
-            backup();
-        }
+        private final byte[] data = new byte[MAX_RANGE * MAX_RANGE];
+        private final byte[] save = new byte[MAX_RANGE * MAX_RANGE];
+        private int maxSearch = MAX_RANGE;
 
         // Checks if the given x/y value is valid for the Placement position
         static boolean isValidPos(final int x, final int y) {
             return x >= 0 && x < MAX_RANGE && y >= 0 && y < MAX_RANGE;
         }
 
-        static boolean isValidPos(final TilePosition p) {
-            return isValidPos(p.x, p.y);
+        void setMaxSearch(final int maxRange) {
+            maxSearch = Math.min(Math.max(0, maxRange), MAX_RANGE);
         }
 
         void reset() {
-            data = new byte[MAX_RANGE][MAX_RANGE];
-            save = new byte[MAX_RANGE][MAX_RANGE];
+            Arrays.fill(data, (byte) 0);
+            Arrays.fill(save, (byte) 0);
         }
 
         // Sets the value in the placement reserve array
         void setValue(final int x, final int y, final byte value) {
             if (isValidPos(x, y)) {
-                data[y][x] = value;
+                data[y * MAX_RANGE + x] = value;
             }
         }
 
-        void setValue(final TilePosition p, final byte value) {
-            setValue(p.x, p.y, value);
-        }
-
         void setRange(final int left, final int top, final int right, final int bottom, final byte value) {
-            for (int y = top; y < bottom; ++y) {
-                for (int x = left; x < right; ++x) {
-                    setValue(x, y, value);
+            for (int y = Math.max(0, top); y < Math.min(MAX_RANGE, bottom); ++y) {
+                for (int x = Math.max(0, left); x < Math.min(MAX_RANGE, right); ++x) {
+                    data[y * MAX_RANGE + x] = value;
                 }
             }
         }
 
-        void setRange(final TilePosition lt, final TilePosition rb, final byte value) {
-            setRange(lt.x, lt.y, rb.x, rb.y, value);
-        }
-
         // Gets the value from the placement reserve array, 0 if position is invalid
         byte getValue(final int x, final int y) {
             if (isValidPos(x, y)) {
-                return data[y][x];
+                return data[y * MAX_RANGE + x];
             }
             return 0;
         }
 
-        byte getValue(final TilePosition p) {
-            return getValue(p.x, p.y);
+        // Gets the value from the last backup
+        byte getSaved(final int x, final int y) {
+            return save[y * MAX_RANGE + x];
         }
 
-        void iterate(final PlacementReserveExec proc) {
-            // Get min/max distances
-            final int min = MAX_RANGE / 2 - maxSearch / 2;
-            final int max = min + maxSearch;
-            for (int y = min; y < max; ++y) {
-                for (int x = min; x < max; ++x) {
-                    proc.operation(this, x, y);
-                }
-            }
+        // The searched square is [searchMin(), searchMax()) in both directions
+        int searchMin() {
+            return MAX_RANGE / 2 - maxSearch / 2;
+        }
+
+        int searchMax() {
+            return searchMin() + maxSearch;
         }
 
         boolean hasValidSpace() {
@@ -438,7 +471,7 @@ class BuildingPlacer {
             final int max = min + maxSearch;
             for (int y = min; y < max; ++y) {
                 for (int x = min; x < max; ++x) {
-                    if (getValue(x, y) == 1) {
+                    if (data[y * MAX_RANGE + x] == 1) {
                         return true;
                     }
                 }
@@ -446,14 +479,12 @@ class BuildingPlacer {
             return false;
         }
 
-        ;
-
         void backup() {
-            System.arraycopy(save, 0, data, 0, save.length);
+            System.arraycopy(data, 0, save, 0, data.length);
         }
 
         void restore() {
-            System.arraycopy(data, 0, save, 0, data.length);
+            System.arraycopy(save, 0, data, 0, save.length);
         }
 
         void restoreIfInvalid() {
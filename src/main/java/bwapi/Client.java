@@ -25,19 +25,14 @@ SOFTWARE.
 
 package bwapi;
 
-import bwapi.ClientData.Command;
 import bwapi.ClientData.GameData;
-import bwapi.ClientData.Shape;
-import com.sun.jna.Native;
-import com.sun.jna.platform.win32.Kernel32;
-import com.sun.jna.win32.W32APIOptions;
 
-import java.io.RandomAccessFile;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Path;
 
 class Client {
-    private static final int READ_WRITE = 0x1 | 0x2 | 0x4;
     private static final int GAME_SIZE = 4 // ServerProcID
             + 4 // IsConnected
             + 4 // LastKeepAliveTime
@@ -46,11 +41,23 @@ class Client {
 
     private static final int maxNumGames = 8;
     private static final int gameTableSize = GAME_SIZE * maxNumGames;
-    private RandomAccessFile pipe;
+    private final Transport transport;
+    private ByteBuffer sharedMemory;
+    private ClientData.GameData liveData;
     private ClientData.GameData data;
+    private FrameRecorder recorder;
+    private FrameLog replay;
+    private EventBuffer eventBuffer;
+    // What the bot sends during a frame, guarded by the lock of this client
+    private final CommandBuffer commands = new CommandBuffer();
 
     Client() throws Exception {
-        final ByteBuffer gameList = Kernel32.INSTANCE.MapViewOfFile(MappingKernel.INSTANCE.OpenFileMapping(READ_WRITE, false, "Local\\bwapi_shared_memory_game_list"), READ_WRITE, 0, 0, gameTableSize).getByteBuffer(0, GAME_SIZE * 8);
+        this(System.getProperty("os.name", "").startsWith("Windows") ? new WindowsTransport() : new PosixTransport());
+    }
+
+    Client(final Transport transport) throws Exception {
+        this.transport = transport;
+        final ByteBuffer gameList = transport.mapGameTable(gameTableSize);
         gameList.order(ByteOrder.LITTLE_ENDIAN);
         for (int i = 0; i < 8; ++i) {
             final int procID = gameList.getInt(GAME_SIZE * i);
@@ -68,50 +75,192 @@ class Client {
         throw new Exception("All servers busy!");
     }
 
+    /**
+     * Plays back a recorded game instead of connecting to a server.
+     */
+    Client(final FrameLog replay) {
+        this.transport = null;
+        this.replay = replay;
+        sharedMemory = ByteBuffer.allocateDirect(GameData.SIZE);
+        liveData = new ClientData(sharedMemory).new GameData(0);
+        data = liveData;
+    }
+
+    /**
+     * The game data the bot reads, see {@link #readFrom(ClientData)}.
+     */
     public GameData data() {
         return data;
     }
 
+    /**
+     * The game data in the shared memory.
+     */
+    GameData liveData() {
+        return liveData;
+    }
+
+    ByteBuffer sharedMemory() {
+        return sharedMemory;
+    }
+
+    /**
+     * Lets the bot read the game data from other memory than the shared memory, e.g. the snapshots of the
+     * asynchronous mode. Commands, shapes and strings still go to the shared memory.
+     */
+    void readFrom(final ClientData snapshots) {
+        data = snapshots.new GameData(0);
+    }
+
     private void connect(final int procID) throws Exception {
-        pipe = new RandomAccessFile("\\\\.\\pipe\\bwapi_pipe_" + procID, "rw");
+        transport.connectPipe(procID);
 
         byte code = 1;
         while (code != 2) {
-            code = pipe.readByte();
+            code = transport.readByte();
         }
 
-        final ByteBuffer sharedMemory = Kernel32.INSTANCE.MapViewOfFile(MappingKernel.INSTANCE
-                        .OpenFileMapping(READ_WRITE, false, "Local\\bwapi_shared_memory_" + procID), READ_WRITE,
-                0, 0, GameData.SIZE).getByteBuffer(0, GameData.SIZE);
-        data = new ClientData(sharedMemory).new GameData(0);
+        sharedMemory = transport.mapSharedMemory(procID, GameData.SIZE);
+        liveData = new ClientData(sharedMemory).new GameData(0);
+        data = liveData;
 
-        final int clientVersion = data.getClient_version();
+        final int clientVersion = liveData.getClient_version();
         if (clientVersion != BWAPI_VERSION) {
             throw new Exception("BWAPI version mismatch, expected: " + BWAPI_VERSION + ", got: " + clientVersion);
         }
 
-        System.out.println("Connected to BWAPI@" + procID + " with version " + clientVersion + ": " + data.getRevision());
+        System.out.println("Connected to BWAPI@" + procID + " with version " + clientVersion + ": " + liveData.getRevision());
     }
 
     void update(final EventHandler handler) throws Exception {
-        byte code = 1;
-        pipe.writeByte(code);
-        while (code != 2) {
-            code = pipe.readByte();
+        update();
+        dispatchEvents(handler);
+    }
+
+    /**
+     * Hands the commands of the bot to the server and waits for the next frame.
+     * The lock of this client is only held to copy the commands into the shared memory, so that in the asynchronous
+     * mode the bot can go on adding commands for the next frame while the server runs.
+     */
+    void update() throws Exception {
+        if (replay != null) {
+            // Nobody consumes what the bot sent
+            synchronized (this) {
+                commands.clear();
+            }
+            replay.next(sharedMemory);
+        } else {
+            synchronized (this) {
+                commands.writeTo(liveData);
+            }
+            byte code = 1;
+            transport.writeByte(code);
+            while (code != 2) {
+                code = transport.readByte();
+            }
+            if (recorder != null) {
+                try {
+                    recorder.record();
+                } catch (final IOException e) {
+                    // The game goes on without the recording
+                    e.printStackTrace();
+                    stopRecording();
+                }
+            }
+        }
+    }
+
+    void dispatchEvents(final EventHandler handler) {
+        if (eventBuffer != null) {
+            recordEvents();
         }
         for (int i = 0; i < data.getEventCount(); ++i) {
             handler.operation(data.getEvents(i));
         }
+        handler.endFrame();
+    }
+
+    private void recordEvents() {
+        final int frame = data.getFrameCount();
+        for (int i = 0; i < data.getEventCount(); ++i) {
+            final ClientData.Event event = data.getEvents(i);
+            final EventType type = event.getType();
+            int unit = -1;
+            int player = -1;
+            int x = Position.None.x;
+            int y = Position.None.y;
+            switch (type) {
+                case ReceiveText:
+                case PlayerLeft:
+                    player = event.getV1();
+                    break;
+                case NukeDetect:
+                    x = event.getV1();
+                    y = event.getV2();
+                    break;
+                case UnitDiscover:
+                case UnitEvade:
+                case UnitShow:
+                case UnitHide:
+                case UnitCreate:
+                case UnitDestroy:
+                case UnitMorph:
+                case UnitRenegade:
+                case UnitComplete:
+                    unit = event.getV1();
+                    final ClientData.UnitData unitData = data.getUnits(unit);
+                    player = unitData.getPlayer();
+                    x = unitData.getPositionX();
+                    y = unitData.getPositionY();
+                    break;
+            }
+            eventBuffer.add(type, unit, player, x, y, frame);
+        }
+    }
+
+    void setEventBuffer(final EventBuffer eventBuffer) {
+        this.eventBuffer = eventBuffer;
+    }
+
+    void startRecording(final Path path) throws IOException {
+        recorder = new FrameRecorder(path, sharedMemory);
+    }
+
+    void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+        recorder = null;
     }
 
-    interface MappingKernel extends Kernel32 {
-        MappingKernel INSTANCE = Native.load(MappingKernel.class, W32APIOptions.DEFAULT_OPTIONS);
+    /**
+     * Platform specific access to the shared memory and the pipe of a BWAPI server.
+     */
+    interface Transport {
+        ByteBuffer mapGameTable(int size) throws Exception;
 
-        HANDLE OpenFileMapping(int desiredAccess, boolean inherit, String name);
+        ByteBuffer mapSharedMemory(int procID, int size) throws Exception;
+
+        void connectPipe(int procID) throws Exception;
+
+        byte readByte() throws IOException;
+
+        void writeByte(byte code) throws IOException;
     }
 
     public interface EventHandler {
         void operation(ClientData.Event event);
+
+        /**
+         * Called after all events of a frame were handled.
+         */
+        default void endFrame() {
+        }
     }
 
 
@@ -119,32 +268,22 @@ class Client {
         return data.getEventStrings(s);
     }
 
-    public int addString(final String s) {
-        int stringCount = data.getStringCount();
-        if (stringCount >= 19999) throw new IllegalStateException("Too many shapes!");
-        data.setStringCount(stringCount + 1);
-        data.setStrings(stringCount, s);
-        return stringCount;
+    public synchronized int addString(final String s) {
+        return commands.addString(s);
     }
 
-    public Shape addShape() {
-        int shapeCount = data.getShapeCount();
-        if (shapeCount >= 19999) throw new IllegalStateException("Too many shapes!");
-        data.setShapeCount(shapeCount + 1);
-        return data.getShapes(shapeCount);
+    public synchronized void addShape(final ShapeType type, final CoordinateType coordType, final int x1, final int y1,
+                                      final int x2, final int y2, final int extra1, final int extra2, final int color,
+                                      final boolean isSolid) {
+        commands.addShape(type, coordType, x1, y1, x2, y2, extra1, extra2, color, isSolid);
     }
 
-    public Command addCommand() {
-        final int commandCount = data.getCommandCount();
-        if (commandCount >= 19999) throw new IllegalStateException("Too many commands!");
-        data.setCommandCount(commandCount + 1);
-        return data.getCommands(commandCount);
+    public synchronized void addCommand(final CommandType type, final int value1, final int value2) {
+        commands.addCommand(type, value1, value2);
     }
 
-    public ClientData.UnitCommand addUnitCommand() {
-        int unitCommandCount = data.getUnitCommandCount();
-        if (unitCommandCount >= 19999) throw new IllegalStateException("Too many unit commands!");
-        data.setUnitCommandCount(unitCommandCount + 1);
-        return data.getUnitCommands(unitCommandCount);
+    public synchronized void addUnitCommand(final int type, final int unit, final int target, final int x, final int y,
+                                            final int extra) {
+        commands.addUnitCommand(type, unit, target, x, y, extra);
     }
 }
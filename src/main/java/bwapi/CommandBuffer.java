@@ -0,0 +1,165 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+
+import java.util.Arrays;
+
+/**
+ * The commands, unit commands, shapes and strings the bot adds during a frame, kept on the client side until
+ * {@link Client#update()} copies them into the shared memory right before it hands the frame to the server.
+ * Not thread safe, the client guards it with its lock.
+ */
+class CommandBuffer {
+    private static final int LIMIT = 19999;
+    private static final int COMMAND_FIELDS = 3;
+    private static final int UNIT_COMMAND_FIELDS = 6;
+    private static final int SHAPE_FIELDS = 10;
+
+    private int[] commands = new int[COMMAND_FIELDS * 16];
+    private int commandCount;
+    private int[] unitCommands = new int[UNIT_COMMAND_FIELDS * 64];
+    private int unitCommandCount;
+    private int[] shapes = new int[SHAPE_FIELDS * 64];
+    private int shapeCount;
+    private String[] strings = new String[16];
+    private int stringCount;
+
+    /**
+     * @return the ID of the string, to be used by a command or shape of the same frame
+     */
+    int addString(final String s) {
+        if (stringCount >= LIMIT) throw new IllegalStateException("Too many strings!");
+        if (stringCount == strings.length) {
+            strings = Arrays.copyOf(strings, stringCount * 2);
+        }
+        strings[stringCount] = s;
+        return stringCount++;
+    }
+
+    void addCommand(final CommandType type, final int value1, final int value2) {
+        if (commandCount >= LIMIT) throw new IllegalStateException("Too many commands!");
+        commands = ensureCapacity(commands, commandCount, COMMAND_FIELDS);
+        final int offset = commandCount++ * COMMAND_FIELDS;
+        commands[offset] = type.id;
+        commands[offset + 1] = value1;
+        commands[offset + 2] = value2;
+    }
+
+    void addUnitCommand(final int type, final int unit, final int target, final int x, final int y, final int extra) {
+        if (unitCommandCount >= LIMIT) throw new IllegalStateException("Too many unit commands!");
+        unitCommands = ensureCapacity(unitCommands, unitCommandCount, UNIT_COMMAND_FIELDS);
+        final int offset = unitCommandCount++ * UNIT_COMMAND_FIELDS;
+        unitCommands[offset] = type;
+        unitCommands[offset + 1] = unit;
+        unitCommands[offset + 2] = target;
+        unitCommands[offset + 3] = x;
+        unitCommands[offset + 4] = y;
+        unitCommands[offset + 5] = extra;
+    }
+
+    void addShape(final ShapeType type, final CoordinateType coordType, final int x1, final int y1, final int x2, final int y2,
+                  final int extra1, final int extra2, final int color, final boolean isSolid) {
+        if (shapeCount >= LIMIT) throw new IllegalStateException("Too many shapes!");
+        shapes = ensureCapacity(shapes, shapeCount, SHAPE_FIELDS);
+        final int offset = shapeCount++ * SHAPE_FIELDS;
+        shapes[offset] = type.id;
+        shapes[offset + 1] = coordType.id;
+        shapes[offset + 2] = x1;
+        shapes[offset + 3] = y1;
+        shapes[offset + 4] = x2;
+        shapes[offset + 5] = y2;
+        shapes[offset + 6] = extra1;
+        shapes[offset + 7] = extra2;
+        shapes[offset + 8] = color;
+        shapes[offset + 9] = isSolid ? 1 : 0;
+    }
+
+    private static int[] ensureCapacity(final int[] array, final int count, final int fields) {
+        return (count + 1) * fields <= array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    int getCommandCount() {
+        return commandCount;
+    }
+
+    int getUnitCommandCount() {
+        return unitCommandCount;
+    }
+
+    int getShapeCount() {
+        return shapeCount;
+    }
+
+    int getStringCount() {
+        return stringCount;
+    }
+
+    /**
+     * Appends everything to the tables of the game data and starts over. The server empties the tables when it
+     * reads them, should it leave some entries the string IDs are moved accordingly and what does not fit is dropped.
+     */
+    void writeTo(final GameData data) {
+        final int stringBase = data.getStringCount();
+        final int newStrings = Math.min(stringCount, LIMIT - stringBase);
+        for (int i = 0; i < newStrings; i++) {
+            data.setStrings(stringBase + i, strings[i]);
+        }
+        data.setStringCount(stringBase + newStrings);
+
+        final int commandBase = data.getCommandCount();
+        final int newCommands = Math.min(commandCount, LIMIT - commandBase);
+        for (int i = 0; i < newCommands; i++) {
+            final int offset = i * COMMAND_FIELDS;
+            final CommandType type = CommandType.idToEnum[commands[offset]];
+            final ClientData.Command command = data.getCommands(commandBase + i);
+            command.setType(type);
+            command.setValue1(type == CommandType.Printf || type == CommandType.SendText ?
+                    commands[offset + 1] + stringBase : commands[offset + 1]);
+            command.setValue2(commands[offset + 2]);
+        }
+        data.setCommandCount(commandBase + newCommands);
+
+        final int unitCommandBase = data.getUnitCommandCount();
+        final int newUnitCommands = Math.min(unitCommandCount, LIMIT - unitCommandBase);
+        for (int i = 0; i < newUnitCommands; i++) {
+            final int offset = i * UNIT_COMMAND_FIELDS;
+            final ClientData.UnitCommand unitCommand = data.getUnitCommands(unitCommandBase + i);
+            unitCommand.setTid(unitCommands[offset]);
+            unitCommand.setUnitIndex(unitCommands[offset + 1]);
+            unitCommand.setTargetIndex(unitCommands[offset + 2]);
+            unitCommand.setX(unitCommands[offset + 3]);
+            unitCommand.setY(unitCommands[offset + 4]);
+            unitCommand.setExtra(unitCommands[offset + 5]);
+        }
+        data.setUnitCommandCount(unitCommandBase + newUnitCommands);
+
+        final int shapeBase = data.getShapeCount();
+        final int newShapes = Math.min(shapeCount, LIMIT - shapeBase);
+        for (int i = 0; i < newShapes; i++) {
+            final int offset = i * SHAPE_FIELDS;
+            final ShapeType type = ShapeType.idToEnum[shapes[offset]];
+            final ClientData.Shape shape = data.getShapes(shapeBase + i);
+            shape.setType(type);
+            shape.setCtype(CoordinateType.idToEnum[shapes[offset + 1]]);
+            shape.setX1(shapes[offset + 2]);
+            shape.setY1(shapes[offset + 3]);
+            shape.setX2(shapes[offset + 4]);
+            shape.setY2(shapes[offset + 5]);
+            shape.setExtra1(type == ShapeType.Text ? shapes[offset + 6] + stringBase : shapes[offset + 6]);
+            shape.setExtra2(shapes[offset + 7]);
+            shape.setColor(shapes[offset + 8]);
+            shape.setIsSolid(shapes[offset + 9] != 0);
+        }
+        data.setShapeCount(shapeBase + newShapes);
+
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(strings, 0, stringCount, null);
+        commandCount = 0;
+        unitCommandCount = 0;
+        shapeCount = 0;
+        stringCount = 0;
+    }
+}
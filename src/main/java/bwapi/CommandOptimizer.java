@@ -0,0 +1,167 @@
+package bwapi;
+
+import java.util.Arrays;
+
+import static bwapi.UnitCommandType.*;
+
+/**
+ * Collects the unit commands of a frame and cleans them up before they are written to the shared memory, see
+ * {@link Game#getCommandOptimizer()}. Off by default.
+ * <ul>
+ * <li>A non-queued order (move, attack, patrol, stop, ...) replaces the orders the unit was given earlier in the
+ * same frame, so those are dropped.</li>
+ * <li>A non-queued order that is the same as the last one written for the unit within the repeat window is dropped,
+ * as long as the unit still carries it out, that is its current order has the same target.</li>
+ * </ul>
+ * The remaining commands are written in the order they were issued, at the end of each frame after all events were
+ * handled. Grouping the same command of several units is left to the command optimizer of BWAPI, see
+ * {@link Game#setCommandOptimizationLevel(int)}.
+ */
+public final class CommandOptimizer {
+    private static final int FIELDS = 6;
+    private static final int TYPE = 0;
+    private static final int UNIT = 1;
+    private static final int TARGET = 2;
+    private static final int X = 3;
+    private static final int Y = 4;
+    private static final int EXTRA = 5;
+
+    private boolean enabled;
+    private int repeatWindow = 8;
+    private long droppedCommands;
+
+    // The commands of this frame, FIELDS ints each
+    private int[] commands = new int[FIELDS * 64];
+    private boolean[] dropped = new boolean[64];
+    private int count;
+    // Per unit ID: the last order written, FIELDS ints each, and its frame
+    private int[] lastOrder = new int[0];
+    private int[] lastOrderFrame = new int[0];
+
+    CommandOptimizer() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRepeatWindow() {
+        return repeatWindow;
+    }
+
+    /**
+     * @param frames how many frames an order is considered a repeat of the same order written before, 0 to never
+     *               drop repeats across frames
+     */
+    public void setRepeatWindow(final int frames) {
+        repeatWindow = frames;
+    }
+
+    /**
+     * @return the number of commands dropped, as replaced in the same frame or repeated within the window
+     */
+    public long getDroppedCommands() {
+        return droppedCommands;
+    }
+
+    public void resetCounters() {
+        droppedCommands = 0;
+    }
+
+    // Orders can be queued with shift, the extra of these commands is the queue flag
+    private static boolean isOrder(final int type) {
+        return type == Attack_Move.id || type == Attack_Unit.id || type == Move.id || type == Patrol.id ||
+                type == Hold_Position.id || type == Stop.id || type == Follow.id || type == Gather.id ||
+                type == Return_Cargo.id || type == Repair.id || type == Right_Click_Position.id ||
+                type == Right_Click_Unit.id;
+    }
+
+    void add(final int type, final int unit, final int target, final int x, final int y, final int extra) {
+        if (count * FIELDS == commands.length) {
+            commands = Arrays.copyOf(commands, commands.length * 2);
+            dropped = Arrays.copyOf(dropped, count * 2);
+        }
+        if (unit >= lastOrderFrame.length) {
+            final int length = Math.max(unit + 1, lastOrderFrame.length * 2);
+            lastOrder = Arrays.copyOf(lastOrder, length * FIELDS);
+            final int oldLength = lastOrderFrame.length;
+            lastOrderFrame = Arrays.copyOf(lastOrderFrame, length);
+            Arrays.fill(lastOrderFrame, oldLength, length, -1);
+        }
+        if (isOrder(type) && extra == 0) {
+            // Replaces the earlier orders of the unit
+            for (int i = 0; i < count; i++) {
+                if (!dropped[i] && commands[i * FIELDS + UNIT] == unit && isOrder(commands[i * FIELDS + TYPE])) {
+                    dropped[i] = true;
+                    droppedCommands++;
+                }
+            }
+        }
+        final int offset = count * FIELDS;
+        commands[offset + TYPE] = type;
+        commands[offset + UNIT] = unit;
+        commands[offset + TARGET] = target;
+        commands[offset + X] = x;
+        commands[offset + Y] = y;
+        commands[offset + EXTRA] = extra;
+        dropped[count] = false;
+        count++;
+    }
+
+    interface Writer {
+        void write(int type, int unit, int target, int x, int y, int extra);
+    }
+
+    interface OrderState {
+        /**
+         * @return whether the current order of the unit has the target unit, or the target position if the target
+         * is -1
+         */
+        boolean hasOrderTarget(int unit, int target, int x, int y);
+    }
+
+    /**
+     * Writes the commands of the frame and starts the next one.
+     */
+    void flush(final int frame, final Writer writer, final OrderState orders) {
+        for (int i = 0; i < count; i++) {
+            if (dropped[i]) {
+                continue;
+            }
+            final int offset = i * FIELDS;
+            final int type = commands[offset + TYPE];
+            final int unit = commands[offset + UNIT];
+            if (isOrder(type) && commands[offset + EXTRA] == 0) {
+                if (repeatWindow > 0 && lastOrderFrame[unit] >= 0 && frame - lastOrderFrame[unit] <= repeatWindow &&
+                        sameCommand(commands, offset, lastOrder, unit * FIELDS) &&
+                        orders.hasOrderTarget(unit, commands[offset + TARGET], commands[offset + X], commands[offset + Y])) {
+                    droppedCommands++;
+                    continue;
+                }
+                System.arraycopy(commands, offset, lastOrder, unit * FIELDS, FIELDS);
+                lastOrderFrame[unit] = frame;
+            } else {
+                // The unit may do something else than its last order now
+                lastOrderFrame[unit] = -1;
+            }
+            write(writer, offset);
+        }
+        count = 0;
+    }
+
+    private void write(final Writer writer, final int offset) {
+        writer.write(commands[offset + TYPE], commands[offset + UNIT], commands[offset + TARGET],
+                commands[offset + X], commands[offset + Y], commands[offset + EXTRA]);
+    }
+
+    // Same type, target, position and extra
+    private static boolean sameCommand(final int[] a, final int aOffset, final int[] b, final int bOffset) {
+        return a[aOffset + TYPE] == b[bOffset + TYPE] && a[aOffset + TARGET] == b[bOffset + TARGET] &&
+                a[aOffset + X] == b[bOffset + X] && a[aOffset + Y] == b[bOffset + Y] &&
+                a[aOffset + EXTRA] == b[bOffset + EXTRA];
+    }
+}
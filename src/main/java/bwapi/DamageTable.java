@@ -0,0 +1,35 @@
+package bwapi;
+
+import java.util.Arrays;
+
+/**
+ * Damage of every attacker type against every defender type for one pair of players, filled on first use. The
+ * entries are cleared when the stats of one of the players changed.
+ */
+class DamageTable {
+    private static final int TYPES = UnitType.idToEnum.length;
+
+    private final int[] damage = new int[TYPES * TYPES];
+    private int fromVersion = -1;
+    private int toVersion = -1;
+
+    /**
+     * @return the cached damage, or -1 if it has to be computed
+     */
+    int get(final UnitType fromType, final UnitType toType, final Player fromPlayer, final Player toPlayer) {
+        final int from = fromPlayer == null ? 0 : fromPlayer.statsVersion();
+        final int to = toPlayer == null ? 0 : toPlayer.statsVersion();
+        if (from != fromVersion || to != toVersion) {
+            Arrays.fill(damage, -1);
+            fromVersion = from;
+            toVersion = to;
+            return -1;
+        }
+        return damage[fromType.id * TYPES + toType.id];
+    }
+
+    int put(final UnitType fromType, final UnitType toType, final int value) {
+        damage[fromType.id * TYPES + toType.id] = value;
+        return value;
+    }
+}
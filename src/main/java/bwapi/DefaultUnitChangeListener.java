@@ -0,0 +1,16 @@
+package bwapi;
+
+public class DefaultUnitChangeListener implements UnitChangeListener {
+
+    public void onUnitDamaged(final Unit unit, final int hitPointsLost, final int shieldsLost) {
+    }
+
+    public void onOrderChanged(final Unit unit, final Order previousOrder) {
+    }
+
+    public void onTargetChanged(final Unit unit, final Unit previousTarget) {
+    }
+
+    public void onStartedAttack(final Unit unit) {
+    }
+}
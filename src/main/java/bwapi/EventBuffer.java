@@ -0,0 +1,192 @@
+package bwapi;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Ring buffer with the events of the last frames as primitive records, an alternative to the callbacks of
+ * {@link BWEventListener} for bots that handle events on their own threads or in batches.
+ * Enable it with {@link BWClientConfiguration#eventBufferCapacity}.
+ * <p>
+ * The client writes every event of a frame before the listener is called. Each reader works through the events with
+ * its own {@link Cursor}, which can be used from any thread but only by one thread at a time. Neither writing nor
+ * reading allocates. A reader that falls behind by more than the capacity loses the oldest events, see
+ * {@link Cursor#getLostEvents()}.
+ */
+public final class EventBuffer {
+    private static final int FIELDS = 6;
+    private static final int TYPE = 0;
+    private static final int UNIT = 1;
+    private static final int PLAYER = 2;
+    private static final int X = 3;
+    private static final int Y = 4;
+    private static final int FRAME = 5;
+
+    private final int capacity;
+    // Volatile fields, so that a reader that sees a field of an overwrite also sees the claim below that came before
+    private final AtomicIntegerArray records;
+    // The number of records that were started and that were completely written
+    private volatile long claimed;
+    private volatile long published;
+
+    EventBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.records = new AtomicIntegerArray(capacity * FIELDS);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of events written so far
+     */
+    public long getEventCount() {
+        return published;
+    }
+
+    void add(final EventType type, final int unit, final int player, final int x, final int y, final int frame) {
+        final long sequence = published;
+        claimed = sequence + 1;
+        final int offset = (int) (sequence % capacity) * FIELDS;
+        records.set(offset + TYPE, type.id);
+        records.set(offset + UNIT, unit);
+        records.set(offset + PLAYER, player);
+        records.set(offset + X, x);
+        records.set(offset + Y, y);
+        records.set(offset + FRAME, frame);
+        published = sequence + 1;
+    }
+
+    /**
+     * @return a reader of all events written from now on
+     */
+    public Cursor newCursor() {
+        return new Cursor(-1);
+    }
+
+    /**
+     * @return a reader of the events of the given types written from now on
+     */
+    public Cursor newCursor(final EventType... types) {
+        int mask = 0;
+        for (final EventType type : types) {
+            mask |= 1 << type.id;
+        }
+        return new Cursor(mask);
+    }
+
+    /**
+     * Reads the events one by one: {@link #next()} moves to the next event, the getters return its fields.
+     */
+    public final class Cursor {
+        private final int mask;
+        private long sequence = published;
+        private long lostEvents;
+        private EventType type = EventType.None;
+        private int unit;
+        private int player;
+        private int x;
+        private int y;
+        private int frame;
+
+        private Cursor(final int mask) {
+            this.mask = mask;
+        }
+
+        /**
+         * Moves to the next event of the subscribed types.
+         *
+         * @return false if there is no such event yet
+         */
+        public boolean next() {
+            while (sequence < published) {
+                final int offset = (int) (sequence % capacity) * FIELDS;
+                final int type = records.get(offset + TYPE);
+                final int unit = records.get(offset + UNIT);
+                final int player = records.get(offset + PLAYER);
+                final int x = records.get(offset + X);
+                final int y = records.get(offset + Y);
+                final int frame = records.get(offset + FRAME);
+                // The record may have been overwritten while it was read
+                final long oldest = claimed - capacity;
+                if (sequence < oldest) {
+                    lostEvents += oldest - sequence;
+                    sequence = oldest;
+                    continue;
+                }
+                sequence++;
+                if ((mask & (1 << type)) != 0) {
+                    this.type = EventType.idToEnum[type];
+                    this.unit = unit;
+                    this.player = player;
+                    this.x = x;
+                    this.y = y;
+                    this.frame = frame;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Moves to the next event of the subscribed types, if it belongs to the given frame. Handles the events of
+         * one frame as a batch with {@code while (cursor.next(frame))}.
+         *
+         * @return false if there is no such event yet or it belongs to a later frame, which is read by the next call
+         */
+        public boolean next(final int frame) {
+            if (!next()) {
+                return false;
+            }
+            if (this.frame <= frame) {
+                return true;
+            }
+            // Leave the event of the later frame for the next call
+            sequence--;
+            return false;
+        }
+
+        /**
+         * @return the number of events that were overwritten before this cursor read them
+         */
+        public long getLostEvents() {
+            return lostEvents;
+        }
+
+        public EventType getType() {
+            return type;
+        }
+
+        /**
+         * @return the ID of the unit of a unit event, or -1
+         */
+        public int getUnitID() {
+            return unit;
+        }
+
+        /**
+         * @return the ID of the player of a unit event, of the player who left or sent the text, or -1
+         */
+        public int getPlayerID() {
+            return player;
+        }
+
+        /**
+         * @return the position of the unit of a unit event or of the nuke, or {@link Position#None}
+         */
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getFrame() {
+            return frame;
+        }
+    }
+}
@@ -64,6 +64,7 @@ class EventHandler implements Client.EventHandler {
                 u.updatePosition(frames);
                 u.updateType(frames);
                 u.updatePlayer(frames);
+                game.updateUnitIndex(u);
                 eventListener.onUnitShow(u);
                 break;
             case UnitHide:
@@ -77,10 +78,11 @@ class EventHandler implements Client.EventHandler {
                 u.updatePosition(frames);
                 u.updateType(frames);
                 u.updatePlayer(frames);
+                game.updateUnitIndex(u);
                 eventListener.onUnitCreate(u);
                 break;
             case UnitDestroy:
-                game.unitHide(event.getV1());
+                game.unitDestroy(event.getV1());
                 u = game.getUnit(event.getV1());
                 eventListener.onUnitDestroy(u);
                 break;
@@ -89,22 +91,31 @@ class EventHandler implements Client.EventHandler {
                 u.updatePosition(frames);
                 u.updateType(frames);
                 u.updatePlayer(frames);
+                game.updateUnitIndex(u);
                 eventListener.onUnitMorph(u);
                 break;
             case UnitRenegade:
                 u = game.getUnit(event.getV1());
                 u.updatePlayer(frames);
+                game.updateUnitIndex(u);
                 eventListener.onUnitRenegade(u);
                 break;
             case UnitComplete:
                 game.unitCreate(event.getV1());
                 u = game.getUnit(event.getV1());
                 u.updatePlayer(frames);
+                game.updateUnitIndex(u);
                 eventListener.onUnitComplete(u);
                 break;
         }
     }
 
+    @Override
+    public void endFrame() {
+        // The commands of the frame are complete now
+        game.flushUnitCommands();
+    }
+
     public Game getGame() {
         return game;
     }
@@ -0,0 +1,114 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ring of game data snapshots for the asynchronous mode.
+ * The client copies every frame into the next free slot, and the bot thread works through the slots in order,
+ * so the bot always sees every frame and its events even when it falls behind.
+ */
+class FrameBuffer {
+    // The server writes everything before the strings, and the unit search tables after the unit commands. These
+    // tables are left out, the client has no accessors for them (see DumpToClient) as it searches units on its own.
+    // The strings, shapes and commands in between are written by the client.
+    static final int SNAPSHOT_SIZE = GameData.STRINGS;
+
+    private final ByteBuffer live;
+    private final ByteBuffer[] slots;
+    private int first;
+    private int size;
+    private Throwable botFailure;
+
+    FrameBuffer(final ByteBuffer live, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.live = live.duplicate();
+        this.live.position(0).limit(SNAPSHOT_SIZE);
+        slots = new ByteBuffer[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = ByteBuffer.allocateDirect(SNAPSHOT_SIZE).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    ByteBuffer slot(final int index) {
+        return slots[index];
+    }
+
+    /**
+     * Copies the current frame into the next slot, waiting for the bot if all slots are in use.
+     */
+    void enqueue() throws InterruptedException {
+        final ByteBuffer slot;
+        synchronized (this) {
+            while (size == slots.length) {
+                checkBot();
+                wait();
+            }
+            slot = slots[(first + size) % slots.length];
+        }
+        slot.clear();
+        slot.put(live.duplicate());
+        synchronized (this) {
+            size++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * The oldest frame the bot has not finished yet.
+     */
+    synchronized ByteBuffer next() throws InterruptedException {
+        while (size == 0) {
+            wait();
+        }
+        return slots[first];
+    }
+
+    /**
+     * Marks the frame returned by {@link #next()} as done.
+     */
+    synchronized void release() {
+        first = (first + 1) % slots.length;
+        size--;
+        notifyAll();
+    }
+
+    /**
+     * @return true if the bot finished all frames within the timeout
+     */
+    synchronized boolean awaitEmpty(final long timeoutNanos) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        while (size > 0) {
+            checkBot();
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Called by the bot thread when it stops because of an error, wakes up the client waiting for it.
+     */
+    synchronized void fail(final Throwable failure) {
+        botFailure = failure;
+        notifyAll();
+    }
+
+    private void checkBot() {
+        if (botFailure != null) {
+            throw new IllegalStateException("The bot thread stopped", botFailure);
+        }
+    }
+}
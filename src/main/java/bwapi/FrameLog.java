@@ -0,0 +1,101 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a log written by {@link FrameRecorder} and patches the recorded frames one after another into a buffer.
+ */
+class FrameLog {
+    private final ByteBuffer log;
+    private final ByteBuffer index;
+    private final int frames;
+    private final Inflater inflater = new Inflater();
+    private byte[] compressed = new byte[0];
+    private byte[] raw = new byte[0];
+    private ByteBuffer block;
+    private long blockPosition = -1;
+    private int frame;
+
+    FrameLog(final Path path) throws IOException {
+        log = map(path);
+        index = map(FrameRecorder.indexPath(path));
+        if (log.limit() < FrameRecorder.HEADER_SIZE || log.getInt(0) != FrameRecorder.MAGIC) {
+            throw new IOException(path + " is not a frame log");
+        }
+        if (log.getInt(4) != FrameRecorder.VERSION || log.getInt(8) != GameData.SIZE) {
+            throw new IOException(path + " was recorded by an incompatible version");
+        }
+        frames = index.limit() / FrameRecorder.INDEX_ENTRY_SIZE;
+    }
+
+    private static ByteBuffer map(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    int frames() {
+        return frames;
+    }
+
+    boolean hasNext() {
+        return frame < frames;
+    }
+
+    /**
+     * Applies the changes of the next frame to the memory, which has to hold all previous frames of this log.
+     */
+    void next(final ByteBuffer memory) throws IOException {
+        final int entry = FrameRecorder.INDEX_ENTRY_SIZE * frame++;
+        final long position = index.getLong(entry);
+        if (position != blockPosition) {
+            inflate(position);
+        }
+        final ByteBuffer target = memory.duplicate();
+        int offset = index.getInt(entry + 8);
+        final int runs = block.getInt(offset);
+        offset += 4;
+        for (int i = 0; i < runs; i++) {
+            final int address = block.getInt(offset);
+            final int length = block.getInt(offset + 4) * 8;
+            target.position(address);
+            target.put(raw, offset + 8, length);
+            offset += 8 + length;
+        }
+    }
+
+    private void inflate(final long position) throws IOException {
+        final int rawLength = log.getInt((int) position);
+        final int length = log.getInt((int) position + 4);
+        if (compressed.length < length) {
+            compressed = new byte[length];
+        }
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+            block = ByteBuffer.wrap(raw).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        final ByteBuffer source = log.duplicate();
+        source.position((int) position + 8);
+        source.get(compressed, 0, length);
+
+        inflater.reset();
+        inflater.setInput(compressed, 0, length);
+        try {
+            if (inflater.inflate(raw, 0, rawLength) != rawLength) {
+                throw new IOException("Truncated block at " + position);
+            }
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupt block at " + position, e);
+        }
+        blockPosition = position;
+    }
+}
@@ -0,0 +1,282 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Records the GameData of every frame to an append-only log.
+ * Each frame only stores the runs of 8-byte words that changed since the previous frame. Frames are collected in
+ * blocks of about 1 MB which are deflated and appended to the log by a background thread. The index file (log path
+ * + ".idx") holds for every frame the position of its block in the log and the offset of the frame inside the
+ * uncompressed block.
+ * <p>
+ * Log: header (magic, version, GameData size), then blocks of (raw length, compressed length, deflated bytes).
+ * Frame inside a block: run count, then runs of (byte offset, word count, words).
+ */
+class FrameRecorder implements Closeable {
+    static final int MAGIC = 0x42574652; // "BWFR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    static final int INDEX_ENTRY_SIZE = 12;
+
+    // The strings, shapes, commands and unit commands are written by the client and consumed by the server
+    // every frame, so there is nothing to record there
+    static final int CLIENT_AREA_START = GameData.STRINGS / 8;
+    static final int CLIENT_AREA_END = GameData.UNIT_SEARCH_SIZE / 8;
+    static final int WORDS = GameData.SIZE / 8;
+
+    private static final int BLOCK_SIZE = 1 << 20;
+    private static final int BLOCKS_IN_FLIGHT = 4;
+    private static final int SCRATCH_SIZE = 8192;
+    // How often a wait for the writer checks that it is still running
+    private static final long WRITER_CHECK_MS = 100;
+
+    private final ByteBuffer memory;
+    private final long[] previous = new long[WORDS];
+    private final long[] scratch = new long[SCRATCH_SIZE];
+    private final FileChannel log;
+    private final FileChannel index;
+    private final BlockingQueue<Block> free = new ArrayBlockingQueue<>(BLOCKS_IN_FLIGHT);
+    private final BlockingQueue<Block> full = new ArrayBlockingQueue<>(BLOCKS_IN_FLIGHT);
+    private final Thread writer;
+    private volatile IOException writeError;
+    private Block block;
+
+    FrameRecorder(final Path path, final ByteBuffer memory) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                FileChannel.open(indexPath(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                memory);
+    }
+
+    FrameRecorder(final FileChannel log, final FileChannel index, final ByteBuffer memory) throws IOException {
+        this.memory = memory.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.log = log;
+        this.index = index;
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(GameData.SIZE).flip();
+        log.write(header);
+
+        for (int i = 0; i < BLOCKS_IN_FLIGHT; i++) {
+            free.add(new Block());
+        }
+        block = free.poll();
+        writer = new Thread(this::write, "FrameRecorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    static Path indexPath(final Path path) {
+        return Paths.get(path.toString() + ".idx");
+    }
+
+    /**
+     * Appends the changes of the current frame, to be called once for each frame after the server is done with it.
+     */
+    void record() throws IOException {
+        checkWriter();
+        block.ensureCapacity(4);
+        final int frameStart = block.data.position();
+        block.data.putInt(0);
+        final int runs = diff(0, CLIENT_AREA_START) + diff(CLIENT_AREA_END, WORDS);
+        block.data.putInt(frameStart, runs);
+        block.addFrame(frameStart);
+
+        if (block.data.position() >= BLOCK_SIZE) {
+            flush();
+        }
+    }
+
+    private int diff(final int from, final int to) {
+        // Bulk copies into a scratch array are much faster to compare than reading the words one by one
+        final LongBuffer words = memory.asLongBuffer();
+        int runs = 0;
+        int runStart = -1;
+        int header = 0;
+        for (int chunk = from; chunk < to; chunk += SCRATCH_SIZE) {
+            final int length = Math.min(SCRATCH_SIZE, to - chunk);
+            words.position(chunk);
+            words.get(scratch, 0, length);
+            for (int i = 0; i < length; i++) {
+                final int word = chunk + i;
+                final long value = scratch[i];
+                if (value == previous[word]) {
+                    if (runStart >= 0) {
+                        block.data.putInt(header + 4, word - runStart);
+                        runStart = -1;
+                    }
+                    continue;
+                }
+                if (runStart < 0) {
+                    runStart = word;
+                    block.ensureCapacity(16);
+                    header = block.data.position();
+                    block.data.putInt(word << 3).putInt(0);
+                    runs++;
+                }
+                previous[word] = value;
+                block.ensureCapacity(8);
+                block.data.putLong(value);
+            }
+        }
+        if (runStart >= 0) {
+            block.data.putInt(header + 4, to - runStart);
+        }
+        return runs;
+    }
+
+    private void flush() throws IOException {
+        try {
+            put(block);
+            block = null;
+            while (block == null) {
+                block = free.poll(WRITER_CHECK_MS, TimeUnit.MILLISECONDS);
+                if (block == null) {
+                    checkWriter();
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    // Hands a block to the writer, unless the writer stopped and will never take it
+    private void put(final Block next) throws IOException, InterruptedException {
+        while (!full.offer(next, WRITER_CHECK_MS, TimeUnit.MILLISECONDS)) {
+            checkWriter();
+        }
+    }
+
+    private void checkWriter() throws IOException {
+        if (writeError != null) {
+            throw writeError;
+        }
+        if (!writer.isAlive()) {
+            throw new IOException("The frame recorder stopped writing");
+        }
+    }
+
+    private void write() {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] compressed = new byte[BLOCK_SIZE];
+        final ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer entries = ByteBuffer.allocate(1024 * INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            while (true) {
+                final Block next = full.take();
+                if (next.frames == 0) {
+                    break;
+                }
+                final int rawLength = next.data.position();
+                deflater.reset();
+                deflater.setInput(next.data.array(), 0, rawLength);
+                deflater.finish();
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == compressed.length) {
+                        final byte[] larger = new byte[compressed.length * 2];
+                        System.arraycopy(compressed, 0, larger, 0, length);
+                        compressed = larger;
+                    }
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+
+                final long blockPosition = log.position();
+                header.clear();
+                header.putInt(rawLength).putInt(length).flip();
+                log.write(header);
+                log.write(ByteBuffer.wrap(compressed, 0, length));
+
+                if (entries.capacity() < next.frames * INDEX_ENTRY_SIZE) {
+                    entries = ByteBuffer.allocate(next.frames * INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                }
+                entries.clear();
+                for (int i = 0; i < next.frames; i++) {
+                    entries.putLong(blockPosition).putInt(next.frameOffsets[i]);
+                }
+                entries.flip();
+                index.write(entries);
+
+                next.reset();
+                free.put(next);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException e) {
+            writeError = e;
+        } catch (final Throwable t) {
+            // Whatever it was, the recording can not go on
+            writeError = new IOException("The frame recorder failed", t);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes the remaining frames and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (writer.isAlive()) {
+                if (block.frames > 0) {
+                    flush();
+                }
+                // An empty block tells the writer to stop
+                put(new Block());
+                writer.join();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            log.close();
+            index.close();
+        }
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    private static class Block {
+        ByteBuffer data = ByteBuffer.allocate(BLOCK_SIZE + (BLOCK_SIZE >> 2)).order(ByteOrder.LITTLE_ENDIAN);
+        int[] frameOffsets = new int[64];
+        int frames;
+
+        void ensureCapacity(final int bytes) {
+            if (data.remaining() < bytes) {
+                final ByteBuffer larger = ByteBuffer.allocate(data.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+                data.flip();
+                larger.put(data);
+                data = larger;
+            }
+        }
+
+        void addFrame(final int offset) {
+            if (frames == frameOffsets.length) {
+                final int[] larger = new int[frames * 2];
+                System.arraycopy(frameOffsets, 0, larger, 0, frames);
+                frameOffsets = larger;
+            }
+            frameOffsets[frames++] = offset;
+        }
+
+        void reset() {
+            data.clear();
+            frames = 0;
+        }
+    }
+}
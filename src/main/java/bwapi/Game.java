@@ -1,8 +1,6 @@
 package bwapi;
 
-import bwapi.ClientData.Command;
 import bwapi.ClientData.GameData;
-import bwapi.ClientData.Shape;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,23 +22,37 @@ public class Game {
             {0, 0, 0, 0, 0, 0}, // None
             {0, 0, 0, 0, 0, 0}  // Unknown
     };
-    private static final boolean bPsiFieldMask[][] = {
-            {false, false, false, false, false, true, true, true, true, true, true, false, false, false, false, false},
-            {false, false, true, true, true, true, true, true, true, true, true, true, true, true, false, false},
-            {false, true, true, true, true, true, true, true, true, true, true, true, true, true, true, false},
-            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
-            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
-            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
-            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
-            {false, true, true, true, true, true, true, true, true, true, true, true, true, true, true, false},
-            {false, false, true, true, true, true, true, true, true, true, true, true, true, true, false, false},
-            {false, false, false, false, false, true, true, true, true, true, true, false, false, false, false, false}
-    };
-
     private static final int REGION_DATA_SIZE = 5000;
 
-    private final Set<Integer> visibleUnits = new HashSet<>();
-    private List<Unit> allUnits;
+    // Both are maintained in place, so that onFrame does not produce garbage
+    private final BitSet visibleUnits = new BitSet();
+    private final ArrayList<Unit> allUnitsList = new ArrayList<>();
+    private final List<Unit> allUnits = Collections.unmodifiableList(allUnitsList);
+    private final UnitGrid unitGrid = new UnitGrid();
+    // False when a unit moved or changed type since the grid was built, queries then scan all units
+    private boolean unitGridValid;
+    private final UnitRelations unitRelations = new UnitRelations();
+    private int unitRelationsFrame = -1;
+    private boolean tileSnapshotEnabled;
+    // Per player ID, created for the first completed pylon of the player
+    private PowerGrid[] powerGrids;
+    private OccupancyGrid occupancyGrid;
+    // Damage of every attacker type against every defender type, per pair of attacking and defending player slot
+    // (player ID + 1, 0 for no player)
+    private DamageTable[] damageTables;
+    private int occupancyGridFrame = -1;
+    private TileSnapshot tileSnapshot;
+    private final UnitTable unitTable = new UnitTable();
+    private int unitTableFrame = -1;
+    private final UnitChangeDetector unitChangeDetector = new UnitChangeDetector();
+    private UnitChangeListener unitChangeListener;
+    private UnitHistory unitHistory;
+    private LastSeenUnits lastSeenUnits;
+    private RegionIndex regionIndex;
+    private int regionIndexFrame = -1;
+    private final CommandOptimizer commandOptimizer = new CommandOptimizer();
+    private final CommandOptimizer.Writer commandWriter = this::writeUnitCommand;
+    private final CommandOptimizer.OrderState orderState = this::hasOrderTarget;
     private final Client client;
     private final GameData gameData;
 
@@ -56,6 +68,7 @@ public class Game {
     private List<Force> forceSet;
     private List<Player> playerSet;
     private List<Region> regionSet;
+    private RegionDistances regionDistances;
     // CHANGING
     private Unit[] units;
 
@@ -78,9 +91,10 @@ public class Game {
     private String mapPathName;
     private String mapName;
     private String mapHash;
-    private boolean[][] buildable;
-    private boolean[][] walkable;
-    private int[][] groundHeight;
+    // Static map data, flat and row by row
+    private BitGrid buildable;
+    private BitGrid walkable;
+    private byte[] groundHeight;
     private short[][] mapTileRegionID;
     private short[] mapSplitTilesMiniTileMask;
     private short[] mapSplitTilesRegion1;
@@ -93,36 +107,17 @@ public class Game {
         this.gameData = client.data();
     }
 
-    private static boolean hasPower(final int x, final int y, final UnitType unitType, final List<Unit> pylons) {
-        if (unitType.id >= 0 && unitType.id < UnitType.None.id && (!unitType.requiresPsi() || !unitType.isBuilding())) {
-            return true;
-        }
-
-        // Loop through all pylons for the current player
-        for (final Unit i : pylons) {
-            if (!i.exists() || !i.isCompleted()) {
-                continue;
-            }
-            final Position p = i.getPosition();
-            if (Math.abs(p.x - x) >= 256) {
-                continue;
-            }
-            if (Math.abs(p.y - y) >= 160) {
-                continue;
-            }
-
-            if (bPsiFieldMask[(y - p.y + 160) / 32][(x - p.x + 256) / 32]) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /*
     Call this method in EventHander::OnMatchStart
     */
     void init() {
         visibleUnits.clear();
+        unitRelationsFrame = -1;
+        unitTableFrame = -1;
+        unitChangeDetector.reset();
+        if (unitHistory != null) {
+            unitHistory.clear();
+        }
 
         final int forceCount = gameData.getForceCount();
         forces = new Force[forceCount];
@@ -139,6 +134,8 @@ public class Game {
         }
 
         playerSet = Collections.unmodifiableList(Arrays.asList(players));
+        powerGrids = new PowerGrid[playerCount];
+        damageTables = new DamageTable[(playerCount + 1) * (playerCount + 1)];
 
         final int bulletCount = 100;
         bullets = new Bullet[bulletCount];
@@ -157,13 +154,14 @@ public class Game {
         }
 
         regionSet = Collections.unmodifiableList(Arrays.asList(regions));
+        regionDistances = new RegionDistances(regionSet);
 
         units = new Unit[10000];
 
         final List<Unit> staticMinerals = new ArrayList<>();
         final List<Unit> staticGeysers = new ArrayList<>();
         final List<Unit> staticNeutralUnits = new ArrayList<>();
-        final List<Unit> allUnits = new ArrayList<>();
+        allUnitsList.clear();
         for (int id = 0; id < gameData.getInitialUnitCount(); id++) {
             final Unit unit = new Unit(gameData.getUnits(id), id, this);
             //skip ghost units
@@ -171,7 +169,7 @@ public class Game {
                 continue;
             }
             this.units[id] = unit;
-            allUnits.add(unit);
+            allUnitsList.add(unit);
 
             if (unit.getType().isMineralField()) {
                 staticMinerals.add(unit);
@@ -187,7 +185,6 @@ public class Game {
         this.staticMinerals = Collections.unmodifiableList(staticMinerals);
         this.staticGeysers = Collections.unmodifiableList(staticGeysers);
         this.staticNeutralUnits = Collections.unmodifiableList(staticNeutralUnits);
-        this.allUnits = Collections.unmodifiableList(allUnits);
 
         randomSeed = gameData.getRandomSeed();
 
@@ -209,22 +206,25 @@ public class Game {
         mapName = gameData.getMapName();
         mapHash = gameData.getMapHash();
 
-        buildable = new boolean[mapWidth][mapHeight];
-        groundHeight = new int[mapWidth][mapHeight];
+        buildable = new BitGrid(mapWidth, mapHeight);
+        groundHeight = new byte[mapWidth * mapHeight];
         mapTileRegionID = new short[mapWidth][mapHeight];
         for (int x = 0; x < mapWidth; x++) {
             for (int y = 0; y < mapHeight; y++) {
-                buildable[x][y] = gameData.isBuildable(x, y);
-                groundHeight[x][y] = gameData.getGroundHeight(x, y);
+                buildable.set(x, y, gameData.isBuildable(x, y));
+                groundHeight[y * mapWidth + x] = (byte) gameData.getGroundHeight(x, y);
                 mapTileRegionID[x][y] = gameData.getMapTileRegionId(x, y);
             }
         }
-        walkable = new boolean[mapWidth * TILE_WALK_FACTOR][mapHeight * TILE_WALK_FACTOR];
+        walkable = new BitGrid(mapWidth * TILE_WALK_FACTOR, mapHeight * TILE_WALK_FACTOR);
         for (int i = 0; i < mapWidth * TILE_WALK_FACTOR; i++) {
             for (int j = 0; j < mapHeight * TILE_WALK_FACTOR; j++) {
-                walkable[i][j] = gameData.isWalkable(i, j);
+                walkable.set(i, j, gameData.isWalkable(i, j));
             }
         }
+        tileSnapshot = tileSnapshotEnabled ? new TileSnapshot(mapWidth, mapHeight) : null;
+        occupancyGrid = new OccupancyGrid(mapWidth, mapHeight);
+        occupancyGridFrame = -1;
 
         mapSplitTilesMiniTileMask = new short[REGION_DATA_SIZE];
         mapSplitTilesRegion1 = new short[REGION_DATA_SIZE];
@@ -237,6 +237,9 @@ public class Game {
 
         mapPixelWidth = mapWidth * TilePosition.SIZE_IN_PIXELS;
         mapPixelHeight = mapHeight * TilePosition.SIZE_IN_PIXELS;
+        lastSeenUnits = new LastSeenUnits(this, mapPixelWidth, mapPixelHeight);
+        regionIndex = new RegionIndex(this, regions.length, players.length);
+        regionIndexFrame = -1;
     }
 
     void unitCreate(final int id) {
@@ -255,51 +258,221 @@ public class Game {
 
     void unitShow(final int id) {
         unitCreate(id);
-        visibleUnits.add(id);
+        visibleUnits.set(id);
+        if (lastSeenUnits != null) {
+            lastSeenUnits.remove(id);
+        }
     }
 
     void unitHide(final int id) {
-        visibleUnits.remove(id);
+        final Unit unit = getUnit(id);
+        if (unit != null && visibleUnits.get(id) && lastSeenUnits != null && unit.getPlayer() != self) {
+            lastSeenUnits.hide(unit);
+        }
+        unitRemove(id);
+    }
+
+    void unitDestroy(final int id) {
+        if (lastSeenUnits != null) {
+            lastSeenUnits.remove(id);
+        }
+        unitRemove(id);
+    }
+
+    private void unitRemove(final int id) {
+        visibleUnits.clear(id);
+        if (regionIndex != null) {
+            regionIndex.remove(id);
+        }
+        final Unit unit = getUnit(id);
+        if (unit != null) {
+            updatePower(unit);
+        }
+        if (unit != null && unit.indexedPlayer != null) {
+            unit.indexedPlayer.removeUnit(unit, unit.indexedType);
+            unit.indexedPlayer = null;
+            unit.indexedType = null;
+        }
+    }
+
+    /**
+     * Files a visible unit under its current player and type for Player.getUnits, to be called after an event
+     * updated the unit.
+     */
+    void updateUnitIndex(final Unit unit) {
+        if (!visibleUnits.get(unit.getID())) {
+            return;
+        }
+        updatePower(unit);
+        final Player player = unit.getPlayer();
+        final UnitType type = unit.getType();
+        if (player == unit.indexedPlayer && type == unit.indexedType) {
+            return;
+        }
+        if (unit.indexedPlayer != null) {
+            unit.indexedPlayer.removeUnit(unit, unit.indexedType);
+        }
+        if (player != null) {
+            player.addUnit(unit, type);
+        }
+        unit.indexedPlayer = player;
+        unit.indexedType = player == null ? null : type;
+    }
+
+    /**
+     * Adds the psi field of a visible, completed pylon to the power grid of its player and removes it again when
+     * that is no longer the case.
+     */
+    private void updatePower(final Unit unit) {
+        final Player player = unit.getPlayer();
+        final boolean powers = visibleUnits.get(unit.getID()) && player != null &&
+                unit.getType() == Protoss_Pylon && unit.isCompleted();
+        PowerGrid grid = null;
+        if (powers) {
+            grid = powerGrids[player.getID()];
+            if (grid == null) {
+                grid = new PowerGrid(mapWidth, mapHeight);
+                powerGrids[player.getID()] = grid;
+            }
+        }
+        final Position position = unit.getPosition();
+        if (grid == unit.poweredGrid && (grid == null || position.equals(unit.poweredPosition))) {
+            return;
+        }
+        if (unit.poweredGrid != null) {
+            unit.poweredGrid.add(unit.poweredPosition.x, unit.poweredPosition.y, -1);
+        }
+        if (grid != null) {
+            grid.add(position.x, position.y, 1);
+        }
+        unit.poweredGrid = grid;
+        unit.poweredPosition = grid == null ? null : position;
     }
 
     void onFrame(final int frame) {
         if (frame > 0) {
-            allUnits = Collections.unmodifiableList(visibleUnits.stream()
-                .map(i -> units[i])
-                .collect(Collectors.toList()));
+            allUnitsList.clear();
+            for (int id = visibleUnits.nextSetBit(0); id >= 0; id = visibleUnits.nextSetBit(id + 1)) {
+                allUnitsList.add(units[id]);
+            }
+        }
+        final List<Unit> allUnits = getAllUnits();
+        for (int i = 0; i < allUnits.size(); i++) {
+            allUnits.get(i).updatePosition(frame);
+        }
+        // A table built by an event handler of this frame saw the units and positions of the previous one
+        unitTableFrame = -1;
+        if (lastSeenUnits != null) {
+            lastSeenUnits.track(getAllUnits(), frame);
         }
-        getAllUnits().forEach(u -> u.updatePosition(frame));
+        unitGrid.build(getAllUnits(), mapPixelWidth, mapPixelHeight);
+        unitGridValid = true;
+        unitRelations.build(getAllUnits());
+        unitRelationsFrame = frame;
+        occupancyGrid.build(getAllUnits());
+        occupancyGridFrame = frame;
+        if (tileSnapshot != null) {
+            tileSnapshot.update(gameData, frame);
+        }
+        if (regionIndex != null) {
+            regionIndex.update(getAllUnits(), mapWidth);
+            regionIndexFrame = frame;
+        }
+        if (unitHistory != null) {
+            unitHistory.record(getAllUnits(), frame);
+        }
+        if (unitChangeListener != null) {
+            unitChangeDetector.update(getAllUnits(), frame, this, unitChangeListener);
+        }
+    }
+
+    /**
+     * @return the larva, loaded units and interceptors of all units, or null if they were not indexed this frame yet
+     */
+    UnitRelations unitRelations() {
+        return unitRelationsFrame >= 0 && unitRelationsFrame == getFrameCount() ? unitRelations : null;
+    }
+
+    /**
+     * @return the units of every region, or null if they were not indexed this frame yet
+     */
+    RegionIndex regionIndex() {
+        return regionIndexFrame >= 0 && regionIndexFrame == getFrameCount() ? regionIndex : null;
+    }
+
+    // The occupancy grid is stale once a unit moved or changed type
+    private boolean isOccupancyGridValid() {
+        return occupancyGridFrame >= 0 && occupancyGridFrame == getFrameCount() && unitGridValid;
+    }
+
+    /**
+     * Reserves the tiles for a planned building, {@link #canBuildHere} fails on reserved tiles until they are
+     * released again. Reservations are counted, so overlapping reservations have to be released one by one.
+     */
+    public void reserveTiles(final TilePosition position, final int tileWidth, final int tileHeight) {
+        occupancyGrid.reserve(position.x, position.y, tileWidth, tileHeight, 1);
     }
 
+    public void reserveTiles(final TilePosition position, final UnitType type) {
+        reserveTiles(position, type.tileWidth(), type.tileHeight());
+    }
+
+    public void releaseTiles(final TilePosition position, final int tileWidth, final int tileHeight) {
+        occupancyGrid.reserve(position.x, position.y, tileWidth, tileHeight, -1);
+    }
+
+    public void releaseTiles(final TilePosition position, final UnitType type) {
+        releaseTiles(position, type.tileWidth(), type.tileHeight());
+    }
+
+    public boolean isReserved(final int tileX, final int tileY) {
+        return isValidTile(tileX, tileY) && occupancyGrid.isReserved(tileX, tileY);
+    }
+
+    public boolean isReserved(final TilePosition position) {
+        return isReserved(position.x, position.y);
+    }
+
+    void invalidateUnitGrid() {
+        unitGridValid = false;
+    }
+
+    // Commands, shapes and strings are added under the lock of the client, so that in the asynchronous mode the
+    // client never copies a half written one into the shared memory
     void addUnitCommand(final int type, final int unit, final int target, final int x, final int y, final int extra) {
-        ClientData.UnitCommand unitCommand = client.addUnitCommand();
-        unitCommand.setTid(type);
-        unitCommand.setUnitIndex(unit);
-        unitCommand.setTargetIndex(target);
-        unitCommand.setX(x);
-        unitCommand.setY(y);
-        unitCommand.setExtra(extra);
+        synchronized (client) {
+            if (commandOptimizer.isEnabled()) {
+                commandOptimizer.add(type, unit, target, x, y, extra);
+            } else {
+                writeUnitCommand(type, unit, target, x, y, extra);
+            }
+        }
+    }
+
+    /**
+     * Writes the unit commands the optimizer collected during the frame, to be called after all events of a frame.
+     */
+    void flushUnitCommands() {
+        synchronized (client) {
+            commandOptimizer.flush(getFrameCount(), commandWriter, orderState);
+        }
+    }
+
+    private boolean hasOrderTarget(final int unitID, final int target, final int x, final int y) {
+        final Unit unit = getUnit(unitID);
+        return unit != null && unit.exists() && !unit.isIdle() && unit.hasOrderTarget(target, x, y);
+    }
+
+    private void writeUnitCommand(final int type, final int unit, final int target, final int x, final int y, final int extra) {
+        client.addUnitCommand(type, unit, target, x, y, extra);
     }
 
     void addCommand(final CommandType type, final int value1, final int value2) {
-        Command command = client.addCommand();
-        command.setType(type);
-        command.setValue1(value1);
-        command.setValue2(value2);
+        client.addCommand(type, value1, value2);
     }
 
     void addShape(final ShapeType type, final CoordinateType coordType, final int x1, final int y1, final int x2, final int y2, final int extra1, final int extra2, final int color, final boolean isSolid) {
-        Shape shape = client.addShape();
-        shape.setType(type);
-        shape.setCtype(coordType);
-        shape.setX1(x1);
-        shape.setY1(y1);
-        shape.setX2(x2);
-        shape.setY2(y2);
-        shape.setExtra1(extra1);
-        shape.setExtra2(extra2);
-        shape.setColor(color);
-        shape.setIsSolid(isSolid);
+        client.addShape(type, coordType, x1, y1, x2, y2, extra1, extra2, color, isSolid);
     }
 
     public List<Force> getForces() {
@@ -310,10 +483,66 @@ public class Game {
         return playerSet;
     }
 
+    /**
+     * @return a read-only view of the visible units ordered by ID. The same list is refilled at the start of every
+     * frame, copy it to keep the units of a frame.
+     */
     public List<Unit> getAllUnits() {
         return allUnits;
     }
 
+    /**
+     * Retrieves the values of all units in {@link #getAllUnits()} as columns of primitive arrays, for loops over
+     * all units. The table is built on the first call of every frame, and the same instance is refilled then.
+     *
+     * @return The {@link UnitTable} of the current frame.
+     */
+    public UnitTable getUnitTable() {
+        final int frame = getFrameCount();
+        if (unitTableFrame != frame) {
+            unitTable.build(getAllUnits());
+            unitTableFrame = frame;
+        }
+        return unitTable;
+    }
+
+    /**
+     * Reports the damage, order, target and attack changes of the visible units to the listener every frame,
+     * starting with the next frame. Off by default, null turns it off again.
+     */
+    public void setUnitChangeListener(final UnitChangeListener listener) {
+        if (unitChangeListener == null) {
+            unitChangeDetector.reset();
+        }
+        unitChangeListener = listener;
+    }
+
+    /**
+     * Keeps the position, hit points and shields of the visible units of the given number of frames in a
+     * {@link UnitHistory}, starting with the next frame. Off by default, 0 turns it off again.
+     */
+    public void setUnitHistoryDepth(final int frames) {
+        if (frames <= 0) {
+            unitHistory = null;
+        } else if (unitHistory == null || unitHistory.getDepth() != frames) {
+            unitHistory = new UnitHistory(frames);
+        }
+    }
+
+    /**
+     * @return the {@link UnitHistory}, or null if it is not enabled
+     */
+    public UnitHistory getUnitHistory() {
+        return unitHistory;
+    }
+
+    /**
+     * @return the last known state of the hidden units of the other players, or null before the start of the match
+     */
+    public LastSeenUnits getLastSeenUnits() {
+        return lastSeenUnits;
+    }
+
     public List<Unit> getMinerals() {
         return getAllUnits().stream()
                 .filter(u -> u.getType().isMineralField())
@@ -440,6 +669,9 @@ public class Game {
     }
 
     public List<Unit> getUnitsOnTile(final int tileX, final int tileY) {
+        if (unitGridValid) {
+            return unitGrid.getUnitsOnTile(tileX, tileY);
+        }
         return getAllUnits().stream().filter(u -> {
             final TilePosition tp = u.getTilePosition();
             return tp.x == tileX && tp.y == tileY;
@@ -455,6 +687,9 @@ public class Game {
     }
 
     public List<Unit> getUnitsInRectangle(final int left, final int top, final int right, final int bottom, final UnitFilter filter) {
+        if (unitGridValid) {
+            return unitGrid.getUnitsInRectangle(left, top, right, bottom, filter);
+        }
         return getAllUnits().stream().filter(u ->
             left <= u.getRight() && top <= u.getBottom() && right >= u.getLeft() && bottom >= u.getTop() && filter.operation(u))
             .collect(Collectors.toList());
@@ -481,6 +716,9 @@ public class Game {
     }
 
     public List<Unit> getUnitsInRadius(final Position center, final int radius, final UnitFilter filter) {
+        if (unitGridValid) {
+            return unitGrid.getUnitsInRadius(center.x, center.y, radius, filter);
+        }
         return getAllUnits().stream()
                 .filter(u -> center.getApproxDistance(u.getPosition()) <= radius && filter.operation(u))
                 .collect(Collectors.toList());
@@ -536,26 +774,30 @@ public class Game {
         return mapHash;
     }
 
-    public boolean isWalkable(final int walkX, final int walkY) {
-        return isWalkable(new WalkPosition(walkX, walkY));
+    private boolean isValidTile(final int tileX, final int tileY) {
+        return tileX >= 0 && tileY >= 0 && tileX < mapWidth && tileY < mapHeight;
     }
 
-    public boolean isWalkable(final WalkPosition position) {
-        if (!position.isValid(this)) {
+    public boolean isWalkable(final int walkX, final int walkY) {
+        if (walkX < 0 || walkY < 0 || walkX >= walkable.width || walkY >= walkable.height) {
             return false;
         }
-        return walkable[position.x][position.y];
+        return walkable.get(walkX, walkY);
     }
 
-    public int getGroundHeight(final int tileX, final int tileY) {
-        return getGroundHeight(new TilePosition(tileX, tileY));
+    public boolean isWalkable(final WalkPosition position) {
+        return isWalkable(position.x, position.y);
     }
 
-    public int getGroundHeight(final TilePosition position) {
-        if (!position.isValid(this)) {
+    public int getGroundHeight(final int tileX, final int tileY) {
+        if (!isValidTile(tileX, tileY)) {
             return -1;
         }
-        return groundHeight[position.x][position.y];
+        return groundHeight[tileY * mapWidth + tileX];
+    }
+
+    public int getGroundHeight(final TilePosition position) {
+        return getGroundHeight(position.x, position.y);
     }
 
     public boolean isBuildable(final int tileX, final int tileY) {
@@ -563,7 +805,10 @@ public class Game {
     }
 
     public boolean isBuildable(final int tileX, final int tileY, final boolean includeBuildings) {
-        return isBuildable(new TilePosition(tileX, tileY), includeBuildings);
+        if (!isValidTile(tileX, tileY)) {
+            return false;
+        }
+        return buildable.get(tileX, tileY) && (includeBuildings ? !gameData.isOccupied(tileX, tileY) : true);
     }
 
     public boolean isBuildable(final TilePosition position) {
@@ -571,43 +816,64 @@ public class Game {
     }
 
     public boolean isBuildable(final TilePosition position, final boolean includeBuildings) {
-        if (!position.isValid(this)) {
-            return false;
-        }
-        return buildable[position.x][position.y] && (includeBuildings ? !gameData.isOccupied(position.x, position.y) : true);
+        return isBuildable(position.x, position.y, includeBuildings);
     }
 
     public boolean isVisible(final int tileX, final int tileY) {
-        return isVisible(new TilePosition(tileX, tileY));
+        if (!isValidTile(tileX, tileY)) {
+            return false;
+        }
+        final TileSnapshot snapshot = getTileSnapshot();
+        return snapshot != null ? snapshot.isVisible(tileX, tileY) : gameData.isVisible(tileX, tileY);
     }
 
     public boolean isVisible(final TilePosition position) {
-        if (!position.isValid(this)) {
-            return false;
-        }
-        return gameData.isVisible(position.x, position.y);
+        return isVisible(position.x, position.y);
     }
 
     public boolean isExplored(final int tileX, final int tileY) {
-        return isExplored(new TilePosition(tileX, tileY));
+        if (!isValidTile(tileX, tileY)) {
+            return false;
+        }
+        final TileSnapshot snapshot = getTileSnapshot();
+        return snapshot != null ? snapshot.isExplored(tileX, tileY) : gameData.isExplored(tileX, tileY);
     }
 
     public boolean isExplored(final TilePosition position) {
-        if (!position.isValid(this)) {
-            return false;
-        }
-        return gameData.isExplored(position.x, position.y);
+        return isExplored(position.x, position.y);
     }
 
     public boolean hasCreep(final int tileX, final int tileY) {
-        return hasCreep(new TilePosition(tileX, tileY));
+        if (!isValidTile(tileX, tileY)) {
+            return false;
+        }
+        final TileSnapshot snapshot = getTileSnapshot();
+        return snapshot != null ? snapshot.hasCreep(tileX, tileY) : gameData.getHasCreep(tileX, tileY);
     }
 
     public boolean hasCreep(final TilePosition position) {
-        if (!position.isValid(this)) {
-            return false;
+        return hasCreep(position.x, position.y);
+    }
+
+    /**
+     * Copies the visibility, explored and creep state of all tiles into a {@link TileSnapshot} at the start of
+     * every frame, starting with the next frame. Off by default.
+     */
+    public void setTileSnapshotEnabled(final boolean enabled) {
+        tileSnapshotEnabled = enabled;
+        if (!enabled) {
+            tileSnapshot = null;
+        } else if (tileSnapshot == null && buildable != null) {
+            // Before the start of the match, init creates it
+            tileSnapshot = new TileSnapshot(mapWidth, mapHeight);
         }
-        return gameData.getHasCreep(position.x, position.y);
+    }
+
+    /**
+     * @return the {@link TileSnapshot} of the current frame, or null if it is not enabled or not taken yet
+     */
+    public TileSnapshot getTileSnapshot() {
+        return tileSnapshot != null && tileSnapshot.getFrame() == getFrameCount() ? tileSnapshot : null;
     }
 
     public boolean hasPowerPrecise(final int x, final int y) {
@@ -615,7 +881,14 @@ public class Game {
     }
 
     public boolean hasPowerPrecise(final int x, final int y, final UnitType unitType) {
-        return hasPowerPrecise(new Position(x, y), unitType);
+        if (x < 0 || y < 0 || x >= mapPixelWidth() || y >= mapPixelHeight()) {
+            return false;
+        }
+        if (unitType.id >= 0 && unitType.id < UnitType.None.id && (!unitType.requiresPsi() || !unitType.isBuilding())) {
+            return true;
+        }
+        final PowerGrid grid = powerGrids[self().getID()];
+        return grid != null && grid.hasPower(x, y);
     }
 
     public boolean hasPowerPrecise(final Position position) {
@@ -623,10 +896,7 @@ public class Game {
     }
 
     public boolean hasPowerPrecise(final Position position, final UnitType unitType) {
-        if (!position.isValid(this)) {
-            return false;
-        }
-        return hasPower(position.x, position.y, unitType, self().getUnits().stream().filter(u -> u.getType() == Protoss_Pylon).collect(Collectors.toList()));
+        return hasPowerPrecise(position.x, position.y, unitType);
     }
 
     public boolean hasPower(final int tileX, final int tileY) {
@@ -673,22 +943,52 @@ public class Game {
     }
 
     public boolean canBuildHere(final TilePosition position, final UnitType type, final Unit builder, final boolean checkExplored) {
-        // lt = left top, rb = right bottom
+        // lt = left top
         final TilePosition lt = builder != null && type.isAddon() ?
                 position.add(new TilePosition(4, 1)) : // addon build offset
                 position;
-        final TilePosition rb = lt.add(type.tileSize());
+        if (!canBuildHere(lt.x, lt.y, type, builder, checkExplored)) {
+            return false;
+        }
+
+        // A building can build an addon at a different location (i.e. automatically lifts (if not already lifted)
+        // then lands at the new location before building the addon), so we need to do similar checks for the
+        // location that the building will be when it builds the addon.
+        if (builder != null && !builder.getType().isAddon() && type.isAddon()) {
+            return canBuildHere(lt.subtract(new TilePosition(4, 1)), builder.getType(), builder, checkExplored);
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link #canBuildHere(TilePosition, UnitType)} without allocating, for the placement search.
+     */
+    boolean canBuildHere(final int tileX, final int tileY, final UnitType type) {
+        return canBuildHere(tileX, tileY, type, null, false);
+    }
+
+    // The checks of canBuildHere for the building at its own top left tile, an addon is already moved there
+    private boolean canBuildHere(final int ltX, final int ltY, final UnitType type, final Unit builder, final boolean checkExplored) {
+        // rb = right bottom, exclusive
+        final int rbX = ltX + type.tileWidth();
+        final int rbY = ltY + type.tileHeight();
 
         // Map limit check
-        if (!lt.isValid(this) || !(rb.toPosition().subtract(new Position(1, 1)).isValid(this))) {
+        if (ltX < 0 || ltY < 0 || ltX >= mapWidth() || ltY >= mapHeight() || rbX > mapWidth() || rbY > mapHeight()) {
             return false;
         }
 
         //if the getUnit is a refinery, we just need to check the set of geysers to see if the position
         //matches one of them (and the type is still vespene geyser)
         if (type.isRefinery()) {
-            for (final Unit g : getGeysers()) {
-                if (g.getTilePosition().equals(lt)) {
+            final List<Unit> allUnits = getAllUnits();
+            for (int i = 0; i < allUnits.size(); i++) {
+                final Unit g = allUnits.get(i);
+                if (g.getType() != Resource_Vespene_Geyser) {
+                    continue;
+                }
+                final TilePosition tp = g.getTilePosition();
+                if (tp.x == ltX && tp.y == ltY) {
                     return !g.isVisible() || g.getType() == Resource_Vespene_Geyser;
                 }
             }
@@ -696,10 +996,10 @@ public class Game {
         }
 
         // Tile buildability check
-        for (int x = lt.x; x < rb.x; ++x) {
-            for (int y = lt.y; y < rb.y; ++y) {
-                // Check if tile is buildable/unoccupied and explored.
-                if (!isBuildable(x, y) || (checkExplored && !isExplored(x, y))) {
+        for (int x = ltX; x < rbX; ++x) {
+            for (int y = ltY; y < rbY; ++y) {
+                // Check if tile is buildable/unoccupied, not reserved and explored.
+                if (!isBuildable(x, y) || occupancyGrid.isReserved(x, y) || (checkExplored && !isExplored(x, y))) {
                     return false;
                 }
             }
@@ -708,7 +1008,7 @@ public class Game {
         // Check if builder is capable of reaching the building site
         if (builder != null) {
             if (!builder.getType().isBuilding()) {
-                if (!builder.hasPath(lt.toPosition().add(type.tileSize().toPosition().divide(2)))) {
+                if (!builder.hasPath(new Position(ltX * 32 + type.tileWidth() * 16, ltY * 32 + type.tileHeight() * 16))) {
                     return false;
                 }
             } else if (!builder.getType().isFlyingBuilding() && type != Zerg_Nydus_Canal && !type.isFlagBeacon()) {
@@ -718,16 +1018,22 @@ public class Game {
 
         // Ground getUnit dimension check
         if (type != Special_Start_Location) {
-            final Position targPos = lt.toPosition().add(type.tileSize().toPosition().divide(2));
-            final List<Unit> unitsInRect = getUnitsInRectangle(
-                targPos.subtract(new Position(type.dimensionLeft(), type.dimensionUp())),
-                targPos.add(new Position(type.dimensionRight(), type.dimensionDown())),
-                    u -> !u.isFlying() && !u.isLoaded() && (builder != u || type == Zerg_Nydus_Canal));
-
-            for (final Unit u : unitsInRect) {
-                // Addons can be placed over units that can move, pushing them out of the way
-                if (!(type.isAddon() && u.getType().canMove())) {
-                    return false;
+            final int targX = ltX * 32 + type.tileWidth() * 16;
+            final int targY = ltY * 32 + type.tileHeight() * 16;
+            final int left = targX - type.dimensionLeft();
+            final int top = targY - type.dimensionUp();
+            final int right = targX + type.dimensionRight();
+            final int bottom = targY + type.dimensionDown();
+            // Most locations have no ground unit nearby, only search the units if the occupancy grid has some
+            if (!isOccupancyGridValid() || !occupancyGrid.isFree(left, top, right, bottom)) {
+                final List<Unit> unitsInRect = getUnitsInRectangle(left, top, right, bottom,
+                        u -> !u.isFlying() && !u.isLoaded() && (builder != u || type == Zerg_Nydus_Canal));
+
+                for (final Unit u : unitsInRect) {
+                    // Addons can be placed over units that can move, pushing them out of the way
+                    if (!(type.isAddon() && u.getType().canMove())) {
+                        return false;
+                    }
                 }
             }
 
@@ -735,8 +1041,8 @@ public class Game {
             // Note: Zerg structures that don't require creep can still be placed on creep
             final boolean needsCreep = type.requiresCreep();
             if (type.getRace() != Zerg || needsCreep) {
-                for (int x = lt.x; x < rb.x; ++x) {
-                    for (int y = lt.y; y < rb.y; ++y) {
+                for (int x = ltX; x < rbX; ++x) {
+                    for (int y = ltY; y < rbY; ++y) {
                         if (needsCreep != hasCreep(x, y)) {
                             return false;
                         }
@@ -745,7 +1051,7 @@ public class Game {
             }
 
             // Power Check
-            if (type.requiresPsi() && hasPower(lt, type)) {
+            if (type.requiresPsi() && hasPower(ltX, ltY, type.tileWidth(), type.tileHeight(), type)) {
                 return false;
             }
 
@@ -753,36 +1059,31 @@ public class Game {
 
         // Resource Check (CC, Nex, Hatch)
         if (type.isResourceDepot()) {
-            for (final Unit m : getStaticMinerals()) {
+            for (int i = 0; i < staticMinerals.size(); i++) {
+                final Unit m = staticMinerals.get(i);
                 final TilePosition tp = m.getInitialTilePosition();
                 if ((isVisible(tp) || isVisible(tp.x + 1, tp.y)) && !m.exists()) {
                     continue; // tile position is visible, but mineral is not => mineral does not exist
                 }
-                if (tp.x > lt.x - 5 &&
-                        tp.y > lt.y - 4 &&
-                        tp.x < lt.x + 7 &&
-                        tp.y < lt.y + 6) {
+                if (tp.x > ltX - 5 &&
+                        tp.y > ltY - 4 &&
+                        tp.x < ltX + 7 &&
+                        tp.y < ltY + 6) {
                     return false;
                 }
             }
-            for (final Unit g : getStaticGeysers()) {
+            for (int i = 0; i < staticGeysers.size(); i++) {
+                final Unit g = staticGeysers.get(i);
                 final TilePosition tp = g.getInitialTilePosition();
-                if (tp.x > lt.x - 7 &&
-                        tp.y > lt.y - 5 &&
-                        tp.x < lt.x + 7 &&
-                        tp.y < lt.y + 6) {
+                if (tp.x > ltX - 7 &&
+                        tp.y > ltY - 5 &&
+                        tp.x < ltX + 7 &&
+                        tp.y < ltY + 6) {
                     return false;
                 }
             }
         }
 
-        // A building can build an addon at a different location (i.e. automatically lifts (if not already lifted)
-        // then lands at the new location before building the addon), so we need to do similar checks for the
-        // location that the building will be when it builds the addon.
-        if (builder != null && !builder.getType().isAddon() && type.isAddon()) {
-            return canBuildHere(lt.subtract(new TilePosition(4, 1)), builder.getType(), builder, checkExplored);
-        }
-
         //if the build site passes all these tests, return true.
         return true;
     }
@@ -1014,15 +1315,21 @@ public class Game {
     }
 
     public void printf(final String cstr_format) {
-        addCommand(Printf, client.addString(cstr_format), 0);
+        synchronized (client) {
+            addCommand(Printf, client.addString(cstr_format), 0);
+        }
     }
 
     public void sendText(final String cstr_format) {
-        addCommand(SendText, client.addString(cstr_format), 0);
+        synchronized (client) {
+            addCommand(SendText, client.addString(cstr_format), 0);
+        }
     }
 
     public void sendTextEx(final boolean toAllies, final String cstr_format) {
-        addCommand(SendText, client.addString(cstr_format), toAllies ? 1 : 0);
+        synchronized (client) {
+            addCommand(SendText, client.addString(cstr_format), toAllies ? 1 : 0);
+        }
     }
 
     public boolean isInGame() {
@@ -1113,8 +1420,10 @@ public class Game {
     }
 
     public void drawText(final CoordinateType ctype, final int x, final int y, final String cstr_format) {
-        final int stringId = client.addString(cstr_format);
-        addShape(ShapeType.Text, ctype, x, y, 0, 0, stringId, textSize.id, 0, false);
+        synchronized (client) {
+            final int stringId = client.addString(cstr_format);
+            addShape(ShapeType.Text, ctype, x, y, 0, 0, stringId, textSize.id, 0, false);
+        }
     }
 
     public void drawTextMap(final int x, final int y, final String cstr_format) {
@@ -1495,6 +1804,25 @@ public class Game {
         return false;
     }
 
+    /**
+     * The length of the shortest ground path between the regions, over the centers of the accessible regions in
+     * between. Precomputed for all pairs of regions at the start of the match.
+     *
+     * @return the distance in pixels, or -1 if there is no ground path
+     */
+    public int getRegionGroundDistance(final Region from, final Region to) {
+        return regionDistances.getDistance(from.getID(), to.getID());
+    }
+
+    /**
+     * @return the neighbour of the from region on the shortest ground path to the other region, the other region if
+     * both are the same, or null if there is no ground path
+     */
+    public Region getNextRegion(final Region from, final Region to) {
+        final int next = regionDistances.getNextRegion(from.getID(), to.getID());
+        return next < 0 ? null : getRegion(next);
+    }
+
     public void setTextSize() {
         textSize = TextSize.Default;
     }
@@ -1507,6 +1835,13 @@ public class Game {
         return gameData.getElapsedTime();
     }
 
+    /**
+     * @return the client side {@link CommandOptimizer}, off by default
+     */
+    public CommandOptimizer getCommandOptimizer() {
+        return commandOptimizer;
+    }
+
     public void setCommandOptimizationLevel(final int level) {
         addCommand(SetCommandOptimizerLevel, level, 0);
     }
@@ -1520,29 +1855,44 @@ public class Game {
     }
 
     public Region getRegionAt(final int x, final int y) {
-        return getRegionAt(new Position(x, y));
+        final int id = getRegionIDAt(x, y);
+        return id < 0 ? null : getRegion(id);
     }
 
     public Region getRegionAt(final Position position) {
-        if (!position.isValid(this)) {
-            return null;
+        return getRegionAt(position.x, position.y);
+    }
+
+    /**
+     * @return the ID of the region at the position, or -1 if there is none
+     */
+    int getRegionIDAt(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= mapPixelWidth || y >= mapPixelHeight) {
+            return -1;
         }
-        final short idx = mapTileRegionID[position.x / 32][position.y / 32];
+        final short idx = mapTileRegionID[x / 32][y / 32];
         if ((idx & 0x2000) != 0) {
             final int index = idx & 0x1FFF;
 
             if (index >= REGION_DATA_SIZE) {
-                return null;
+                return -1;
             }
-            final int minitileShift = ((position.x & 0x1F) / 8) + ((position.y & 0x1F) / 8) * 4;
+            final int minitileShift = ((x & 0x1F) / 8) + ((y & 0x1F) / 8) * 4;
 
             if (((mapSplitTilesMiniTileMask[index] >> minitileShift) & 1) != 0) {
-                return getRegion(mapSplitTilesRegion2[index]);
+                return mapSplitTilesRegion2[index];
             } else {
-                return getRegion(mapSplitTilesRegion1[index]);
+                return mapSplitTilesRegion1[index];
             }
         }
-        return getRegion(idx);
+        return idx;
+    }
+
+    /**
+     * @return whether the tile is shared by several regions, see {@link #getRegionIDAt}
+     */
+    boolean isSplitTile(final int tileX, final int tileY) {
+        return (mapTileRegionID[tileX][tileY] & 0x2000) != 0;
     }
 
     public TilePosition getBuildLocation(final UnitType type, final TilePosition desiredPosition, final int maxRange) {
@@ -1553,11 +1903,54 @@ public class Game {
         return getBuildLocation(type, desiredPosition, 64);
     }
 
+    /**
+     * @param creep Unused, as in BWAPI. Whether a location needs creep is decided by the type.
+     */
     public TilePosition getBuildLocation(final UnitType type, TilePosition desiredPosition, final int maxRange, final boolean creep) {
-        return BuildingPlacer.getBuildLocation(type, desiredPosition, maxRange, creep, this);
+        return BuildingPlacer.getBuildLocation(type, desiredPosition, maxRange, this);
+    }
+
+    /**
+     * Same as {@link #getBuildLocation(UnitType, TilePosition, int)}, but ranks the candidates with the
+     * given distance instead of the air distance, for example {@link PlacementDistance#ground(Game)}.
+     */
+    public TilePosition getBuildLocation(final UnitType type, final TilePosition desiredPosition, final int maxRange, final PlacementDistance distance) {
+        return BuildingPlacer.getBuildLocation(type, desiredPosition, maxRange, this, distance);
+    }
+
+    /**
+     * Finds locations for several buildings around the same position in one go, each building is kept clear of
+     * the locations found for the buildings before it in the list.
+     *
+     * @return The locations in the order of the types, TilePosition.None for types without a location.
+     */
+    public List<TilePosition> getBuildLocations(final List<UnitType> types, final TilePosition desiredPosition, final int maxRange) {
+        return getBuildLocations(types, desiredPosition, maxRange, PlacementDistance.AIR);
+    }
+
+    public List<TilePosition> getBuildLocations(final List<UnitType> types, final TilePosition desiredPosition, final int maxRange, final PlacementDistance distance) {
+        return BuildingPlacer.getBuildLocations(types, desiredPosition, maxRange, this, distance);
+    }
+
+    private int getDamageFromImpl(final UnitType fromType, final UnitType toType, final Player fromPlayer, final Player toPlayer) {
+        if (damageTables == null) {
+            return computeDamage(fromType, toType, fromPlayer, toPlayer);
+        }
+        final int index = (fromPlayer == null ? 0 : fromPlayer.getID() + 1) * (players.length + 1) +
+                (toPlayer == null ? 0 : toPlayer.getID() + 1);
+        DamageTable table = damageTables[index];
+        if (table == null) {
+            table = new DamageTable();
+            damageTables[index] = table;
+        }
+        final int damage = table.get(fromType, toType, fromPlayer, toPlayer);
+        if (damage >= 0) {
+            return damage;
+        }
+        return table.put(fromType, toType, computeDamage(fromType, toType, fromPlayer, toPlayer));
     }
 
-    private int getDamageFromImpl(UnitType fromType, UnitType toType, Player fromPlayer, Player toPlayer) {
+    private static int computeDamage(final UnitType fromType, final UnitType toType, final Player fromPlayer, final Player toPlayer) {
         // Retrieve appropriate weapon
         final WeaponType wpn = toType.isFlyer() ? fromType.airWeapon() : fromType.groundWeapon();
         if (wpn == WeaponType.None || wpn == WeaponType.Unknown) {
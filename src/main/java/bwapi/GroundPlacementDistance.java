@@ -0,0 +1,42 @@
+package bwapi;
+
+/**
+ * See {@link PlacementDistance#ground(Game)}.
+ */
+class GroundPlacementDistance implements PlacementDistance {
+    private final Game game;
+    private int lastFromX = -1;
+    private int lastFromY = -1;
+    private Region lastFrom;
+
+    GroundPlacementDistance(final Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public int getDistance(final int fromTileX, final int fromTileY, final int toTileX, final int toTileY) {
+        // All candidates of a search share the same origin
+        if (fromTileX != lastFromX || fromTileY != lastFromY) {
+            lastFrom = game.getRegionAt(fromTileX * 32 + 16, fromTileY * 32 + 16);
+            lastFromX = fromTileX;
+            lastFromY = fromTileY;
+        }
+        final Region from = lastFrom;
+        final Region to = game.getRegionAt(toTileX * 32 + 16, toTileY * 32 + 16);
+        if (from == null || to == null || from.getRegionGroupID() != to.getRegionGroupID()) {
+            return Integer.MAX_VALUE;
+        }
+        if (from.getID() == to.getID()) {
+            return Position.getApproxDistance(fromTileX, fromTileY, toTileX, toTileY);
+        }
+        final int between = game.getRegionGroundDistance(from, to);
+        if (between < 0) {
+            return Integer.MAX_VALUE;
+        }
+        final Position fromCenter = from.getCenter();
+        final Position toCenter = to.getCenter();
+        return (Position.getApproxDistance(fromTileX * 32 + 16, fromTileY * 32 + 16, fromCenter.x, fromCenter.y) +
+                between +
+                Position.getApproxDistance(toCenter.x, toCenter.y, toTileX * 32 + 16, toTileY * 32 + 16)) / 32;
+    }
+}
@@ -0,0 +1,284 @@
+package bwapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The last known state of the units of other players that are hidden now, see {@link Game#getLastSeenUnits()}.
+ * A unit is stored when it is hidden and removed when it is shown again or destroyed.
+ * <p>
+ * The state is kept in one primitive array per value, indexed by unit ID, and the units are bucketed by their last
+ * position in cells of 128x128 pixels for the spatial queries. The store only changes on hide, show and destroy
+ * events, so units that stay hidden cost nothing per frame.
+ * <p>
+ * The server clears the data of a unit before it reports it hidden, so the stored state is the one of the last frame
+ * the unit was visible at, which is copied for every visible unit at the start of each frame. A unit hidden before
+ * it was visible at the start of a frame is not stored.
+ */
+public final class LastSeenUnits {
+    private static final int CELL_SHIFT = 7;
+    // No unit type extends further than this from its position
+    private static final int MAX_DIMENSION = Arrays.stream(UnitType.values())
+            .mapToInt(t -> Math.max(Math.max(t.dimensionLeft(), t.dimensionRight()), Math.max(t.dimensionUp(), t.dimensionDown())))
+            .max().orElse(0);
+
+    private final Game game;
+    private final int columns;
+    private final int rows;
+    // Per cell, the first unit ID of its list, -1 if empty
+    private final int[] cellHead;
+
+    // Per unit ID
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+    private int[] cells = new int[0];
+    private int[] typeIds = new int[0];
+    private int[] playerIds = new int[0];
+    private int[] x = new int[0];
+    private int[] y = new int[0];
+    private int[] hitPoints = new int[0];
+    private int[] shields = new int[0];
+    private int[] frames = new int[0];
+    private int size;
+    // Per unit ID, the state of the visible units as of the frame visibleFrames[id], -1 if never visible then
+    private int[] visibleX = new int[0];
+    private int[] visibleY = new int[0];
+    private int[] visibleHitPoints = new int[0];
+    private int[] visibleShields = new int[0];
+    private int[] visibleFrames = new int[0];
+
+    LastSeenUnits(final Game game, final int mapPixelWidth, final int mapPixelHeight) {
+        this.game = game;
+        columns = Math.max(1, (mapPixelWidth + (1 << CELL_SHIFT) - 1) >> CELL_SHIFT);
+        rows = Math.max(1, (mapPixelHeight + (1 << CELL_SHIFT) - 1) >> CELL_SHIFT);
+        cellHead = new int[columns * rows];
+        Arrays.fill(cellHead, -1);
+    }
+
+    private int column(final int px) {
+        return Math.min(columns - 1, Math.max(0, px >> CELL_SHIFT));
+    }
+
+    private int row(final int py) {
+        return Math.min(rows - 1, Math.max(0, py >> CELL_SHIFT));
+    }
+
+    /**
+     * Copies the state of the visible units, to be called at the start of every frame.
+     */
+    void track(final List<Unit> allUnits, final int frame) {
+        for (int i = 0; i < allUnits.size(); i++) {
+            final Unit unit = allUnits.get(i);
+            final int id = unit.getID();
+            if (id >= visibleFrames.length) {
+                final int oldLength = visibleFrames.length;
+                final int length = Math.max(id + 1, oldLength * 2);
+                visibleX = Arrays.copyOf(visibleX, length);
+                visibleY = Arrays.copyOf(visibleY, length);
+                visibleHitPoints = Arrays.copyOf(visibleHitPoints, length);
+                visibleShields = Arrays.copyOf(visibleShields, length);
+                visibleFrames = Arrays.copyOf(visibleFrames, length);
+                Arrays.fill(visibleFrames, oldLength, length, -1);
+            }
+            final Position position = unit.getPosition();
+            visibleX[id] = position.x;
+            visibleY[id] = position.y;
+            visibleHitPoints[id] = unit.getHitPoints();
+            visibleShields[id] = unit.getShields();
+            visibleFrames[id] = frame;
+        }
+    }
+
+    /**
+     * Stores a unit that is being hidden with its state of the last frame it was tracked at.
+     */
+    void hide(final Unit unit) {
+        final int id = unit.getID();
+        final UnitType type = unit.getType();
+        final Player player = unit.getPlayer();
+        if (id < 0 || id >= visibleFrames.length || visibleFrames[id] < 0 || type == null) {
+            return;
+        }
+        add(id, type.id, player == null ? -1 : player.getID(), visibleX[id], visibleY[id], visibleHitPoints[id],
+                visibleShields[id], visibleFrames[id]);
+    }
+
+    void add(final int id, final int typeId, final int playerId, final int x, final int y, final int hitPoints,
+             final int shields, final int frame) {
+        if (id >= cells.length) {
+            final int oldLength = cells.length;
+            final int length = Math.max(id + 1, oldLength * 2);
+            next = Arrays.copyOf(next, length);
+            previous = Arrays.copyOf(previous, length);
+            cells = Arrays.copyOf(cells, length);
+            Arrays.fill(cells, oldLength, length, -1);
+            typeIds = Arrays.copyOf(typeIds, length);
+            playerIds = Arrays.copyOf(playerIds, length);
+            this.x = Arrays.copyOf(this.x, length);
+            this.y = Arrays.copyOf(this.y, length);
+            this.hitPoints = Arrays.copyOf(this.hitPoints, length);
+            this.shields = Arrays.copyOf(this.shields, length);
+            frames = Arrays.copyOf(frames, length);
+        }
+        remove(id);
+        final int cell = row(y) * columns + column(x);
+        cells[id] = cell;
+        previous[id] = -1;
+        next[id] = cellHead[cell];
+        if (cellHead[cell] >= 0) {
+            previous[cellHead[cell]] = id;
+        }
+        cellHead[cell] = id;
+        typeIds[id] = typeId;
+        playerIds[id] = playerId;
+        this.x[id] = x;
+        this.y[id] = y;
+        this.hitPoints[id] = hitPoints;
+        this.shields[id] = shields;
+        frames[id] = frame;
+        size++;
+    }
+
+    void remove(final int id) {
+        if (id < 0 || id >= cells.length || cells[id] < 0) {
+            return;
+        }
+        if (previous[id] >= 0) {
+            next[previous[id]] = next[id];
+        } else {
+            cellHead[cells[id]] = next[id];
+        }
+        if (next[id] >= 0) {
+            previous[next[id]] = previous[id];
+        }
+        cells[id] = -1;
+        size--;
+    }
+
+    /**
+     * @return the number of stored units
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(final Unit unit) {
+        final int id = unit.getID();
+        return id >= 0 && id < cells.length && cells[id] >= 0;
+    }
+
+    /**
+     * @return all stored units, ordered by ID
+     */
+    public List<Unit> getUnits() {
+        final List<Unit> result = new ArrayList<>(size);
+        for (int id = 0; id < cells.length; id++) {
+            if (cells[id] >= 0) {
+                result.add(game.getUnit(id));
+            }
+        }
+        return result;
+    }
+
+    // The following return the state of a stored unit when it was last seen, the result is undefined for other units
+
+    public UnitType getType(final Unit unit) {
+        return UnitType.idToEnum[typeIds[unit.getID()]];
+    }
+
+    /**
+     * @return the owner, or null if it was unknown
+     */
+    public Player getPlayer(final Unit unit) {
+        final int playerId = playerIds[unit.getID()];
+        return playerId < 0 ? null : game.getPlayer(playerId);
+    }
+
+    public Position getPosition(final Unit unit) {
+        return new Position(x[unit.getID()], y[unit.getID()]);
+    }
+
+    public int getX(final Unit unit) {
+        return x[unit.getID()];
+    }
+
+    public int getY(final Unit unit) {
+        return y[unit.getID()];
+    }
+
+    public int getHitPoints(final Unit unit) {
+        return hitPoints[unit.getID()];
+    }
+
+    public int getShields(final Unit unit) {
+        return shields[unit.getID()];
+    }
+
+    /**
+     * @return the last frame the unit was visible
+     */
+    public int getFrame(final Unit unit) {
+        return frames[unit.getID()];
+    }
+
+    /**
+     * @return the stored units whose last position is within the approximated distance, ordered by ID
+     */
+    public List<Unit> getUnitsInRadius(final Position center, final int radius) {
+        return getUnitsInRadius(center.x, center.y, radius, u -> true);
+    }
+
+    public List<Unit> getUnitsInRadius(final int centerX, final int centerY, final int radius, final UnitFilter filter) {
+        final List<Unit> result = new ArrayList<>();
+        final int margin = Math.max(0, radius + (radius >> 3) + 1);
+        for (int row = row(centerY - margin); row <= row(centerY + margin); row++) {
+            for (int column = column(centerX - margin); column <= column(centerX + margin); column++) {
+                for (int id = cellHead[row * columns + column]; id >= 0; id = next[id]) {
+                    if (Position.getApproxDistance(centerX, centerY, x[id], y[id]) <= radius) {
+                        addFiltered(result, id, filter);
+                    }
+                }
+            }
+        }
+        return sorted(result);
+    }
+
+    /**
+     * @return the stored units whose bounding box at their last position overlaps the rectangle, ordered by ID
+     */
+    public List<Unit> getUnitsInRectangle(final Position topLeft, final Position bottomRight) {
+        return getUnitsInRectangle(topLeft.x, topLeft.y, bottomRight.x, bottomRight.y, u -> true);
+    }
+
+    public List<Unit> getUnitsInRectangle(final int left, final int top, final int right, final int bottom,
+                                          final UnitFilter filter) {
+        final List<Unit> result = new ArrayList<>();
+        final int margin = MAX_DIMENSION;
+        for (int row = row(top - margin); row <= row(bottom + margin); row++) {
+            for (int column = column(left - margin); column <= column(right + margin); column++) {
+                for (int id = cellHead[row * columns + column]; id >= 0; id = next[id]) {
+                    final UnitType type = UnitType.idToEnum[typeIds[id]];
+                    if (left <= x[id] + type.dimensionRight() && top <= y[id] + type.dimensionDown() &&
+                            right >= x[id] - type.dimensionLeft() && bottom >= y[id] - type.dimensionUp()) {
+                        addFiltered(result, id, filter);
+                    }
+                }
+            }
+        }
+        return sorted(result);
+    }
+
+    private void addFiltered(final List<Unit> result, final int id, final UnitFilter filter) {
+        final Unit unit = game.getUnit(id);
+        if (filter.operation(unit)) {
+            result.add(unit);
+        }
+    }
+
+    private static List<Unit> sorted(final List<Unit> units) {
+        units.sort(Comparator.comparingInt(Unit::getID));
+        return units;
+    }
+}
@@ -0,0 +1,204 @@
+package bwapi;
+
+import bwapi.ClientData.Event;
+import bwapi.ClientData.GameData;
+import bwapi.ClientData.PlayerData;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Stand-in for a BWAPI server that runs inside the JVM on POSIX systems.
+ * It publishes itself in the game table of the {@link PosixTransport} directory and plays an empty match of
+ * the given number of frames, so a {@link BWClient} can run end-to-end without StarCraft (e.g. for benchmarks).
+ */
+public class LocalServer {
+    private static final int GAME_SIZE = 12;
+    private static final int MAX_GAMES = 8;
+    private static final int BWAPI_VERSION = 10002;
+    private static final int MAP_SIZE = 64;
+
+    private final Path directory;
+    private final int frames;
+    private final int procID;
+
+    private ByteBuffer gameTable;
+    private int slot = -1;
+    private GameData data;
+    private RandomAccessFile fromClient;
+    private RandomAccessFile toClient;
+    private Thread thread;
+
+    public LocalServer(final int frames) {
+        this(PosixTransport.defaultDirectory(), frames);
+    }
+
+    public LocalServer(final Path directory, final int frames) {
+        this.directory = directory;
+        this.frames = frames;
+        final String name = ManagementFactory.getRuntimeMXBean().getName();
+        this.procID = Integer.parseInt(name.substring(0, name.indexOf('@')));
+    }
+
+    /**
+     * Creates the shared memory and the pipes, registers this server in the game table and starts serving frames.
+     */
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        final Path table = directory.resolve(PosixTransport.GAME_TABLE);
+        if (!Files.exists(table)) {
+            Files.write(table, new byte[GAME_SIZE * MAX_GAMES], StandardOpenOption.CREATE);
+        }
+        gameTable = PosixTransport.map(table, GAME_SIZE * MAX_GAMES).order(ByteOrder.LITTLE_ENDIAN);
+
+        final Path memory = directory.resolve(PosixTransport.sharedMemoryName(procID));
+        Files.deleteIfExists(memory);
+        Files.createFile(memory);
+        data = new ClientData(PosixTransport.map(memory, GameData.SIZE)).new GameData(0);
+        setupGame();
+
+        final Path clientPipe = directory.resolve(PosixTransport.clientPipeName(procID));
+        final Path serverPipe = directory.resolve(PosixTransport.serverPipeName(procID));
+        Files.deleteIfExists(clientPipe);
+        Files.deleteIfExists(serverPipe);
+        PosixTransport.mkfifo(clientPipe);
+        PosixTransport.mkfifo(serverPipe);
+        fromClient = new RandomAccessFile(clientPipe.toFile(), "rw");
+        toClient = new RandomAccessFile(serverPipe.toFile(), "rw");
+
+        for (int i = 0; i < MAX_GAMES && slot < 0; i++) {
+            if (gameTable.getInt(GAME_SIZE * i) == 0) {
+                slot = i;
+            }
+        }
+        if (slot < 0) {
+            close();
+            throw new IOException("Game table is full");
+        }
+        gameTable.put(GAME_SIZE * slot + 4, (byte) 0);
+        gameTable.putInt(GAME_SIZE * slot, procID);
+
+        thread = new Thread(this::serve, "LocalServer-" + procID);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Waits until the match has been played and the server has shut down.
+     */
+    public void join() throws InterruptedException {
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    private void setupGame() {
+        data.setClient_version(BWAPI_VERSION);
+        data.setIsInGame(false);
+        data.setMapWidth(MAP_SIZE);
+        data.setMapHeight(MAP_SIZE);
+        data.setMapName("LocalServer");
+        for (int x = 0; x < MAP_SIZE * 4; x++) {
+            for (int y = 0; y < MAP_SIZE * 4; y++) {
+                data.setIsWalkable(x, y, true);
+            }
+        }
+        for (int x = 0; x < MAP_SIZE; x++) {
+            for (int y = 0; y < MAP_SIZE; y++) {
+                data.setIsBuildable(x, y, true);
+            }
+        }
+        data.setForceCount(1);
+        data.setPlayerCount(3);
+        setupPlayer(0, "Self", Race.Terran, PlayerType.Player);
+        setupPlayer(1, "Enemy", Race.Zerg, PlayerType.Computer);
+        setupPlayer(2, "Neutral", Race.None, PlayerType.Neutral);
+        data.setSelf(0);
+        data.setEnemy(1);
+        data.setNeutral(2);
+    }
+
+    private void setupPlayer(final int id, final String name, final Race race, final PlayerType type) {
+        final PlayerData player = data.getPlayers(id);
+        player.setName(name);
+        player.setRace(race.id);
+        player.setType(type.id);
+        player.setForce(0);
+        player.setIsParticipating(type != PlayerType.Neutral);
+    }
+
+    private void serve() {
+        try {
+            toClient.writeByte(2);
+            int frame = -1;
+            while (frame < frames) {
+                if (fromClient.readByte() != 1) {
+                    continue;
+                }
+                gameTable.put(GAME_SIZE * slot + 4, (byte) 1);
+                // Commands of the previous frame are consumed
+                data.setCommandCount(0);
+                data.setUnitCommandCount(0);
+                data.setShapeCount(0);
+                data.setStringCount(0);
+                data.setEventCount(0);
+
+                frame++;
+                if (frame == 0) {
+                    data.setIsInGame(true);
+                    addEvent(EventType.MatchStart, 0);
+                } else if (frame < frames) {
+                    data.setFrameCount(frame);
+                } else {
+                    data.setIsInGame(false);
+                }
+                if (frame < frames) {
+                    addEvent(EventType.MatchFrame, 0);
+                }
+                if (frame == frames - 1) {
+                    addEvent(EventType.MatchEnd, 1);
+                }
+                toClient.writeByte(2);
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        } finally {
+            close();
+        }
+    }
+
+    private void addEvent(final EventType type, final int v1) {
+        final int eventCount = data.getEventCount();
+        final Event event = data.getEvents(eventCount);
+        event.setType(type);
+        event.setV1(v1);
+        event.setV2(0);
+        data.setEventCount(eventCount + 1);
+    }
+
+    private void close() {
+        try {
+            if (slot >= 0) {
+                gameTable.putInt(GAME_SIZE * slot, 0);
+                gameTable.put(GAME_SIZE * slot + 4, (byte) 0);
+            }
+            if (fromClient != null) {
+                fromClient.close();
+            }
+            if (toClient != null) {
+                toClient.close();
+            }
+            Files.deleteIfExists(directory.resolve(PosixTransport.clientPipeName(procID)));
+            Files.deleteIfExists(directory.resolve(PosixTransport.serverPipeName(procID)));
+            Files.deleteIfExists(directory.resolve(PosixTransport.sharedMemoryName(procID)));
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package bwapi;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts per tile the ground units whose bounding box overlaps it, rebuilt every frame, and the tiles reserved by
+ * the bot through {@link Game#reserveTiles}. A pixel rectangle with only zero counts under it can not intersect the
+ * bounding box of any ground unit, which lets {@link Game#canBuildHere} skip the unit search for most locations.
+ */
+class OccupancyGrid {
+    private final int width;
+    private final int height;
+    private final short[] ground;
+    private final short[] reserved;
+
+    OccupancyGrid(final int mapWidth, final int mapHeight) {
+        width = mapWidth;
+        height = mapHeight;
+        ground = new short[mapWidth * mapHeight];
+        reserved = new short[mapWidth * mapHeight];
+    }
+
+    void build(final List<Unit> allUnits) {
+        Arrays.fill(ground, (short) 0);
+        for (int i = 0; i < allUnits.size(); i++) {
+            final Unit unit = allUnits.get(i);
+            if (unit.isFlying() || unit.isLoaded()) {
+                continue;
+            }
+            final int left = tileX(unit.getLeft());
+            final int top = tileY(unit.getTop());
+            final int right = tileX(unit.getRight());
+            final int bottom = tileY(unit.getBottom());
+            for (int y = top; y <= bottom; y++) {
+                for (int x = left; x <= right; x++) {
+                    ground[y * width + x]++;
+                }
+            }
+        }
+    }
+
+    private int tileX(final int px) {
+        return Math.min(width - 1, Math.max(0, px >> 5));
+    }
+
+    private int tileY(final int py) {
+        return Math.min(height - 1, Math.max(0, py >> 5));
+    }
+
+    /**
+     * @return true if no ground unit overlaps the pixel rectangle, false if one might
+     */
+    boolean isFree(final int left, final int top, final int right, final int bottom) {
+        final int tileRight = tileX(right);
+        final int tileBottom = tileY(bottom);
+        for (int y = tileY(top); y <= tileBottom; y++) {
+            for (int x = tileX(left); x <= tileRight; x++) {
+                if (ground[y * width + x] != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    void reserve(final int tileX, final int tileY, final int tileWidth, final int tileHeight, final int delta) {
+        for (int y = Math.max(0, tileY); y < Math.min(height, tileY + tileHeight); y++) {
+            for (int x = Math.max(0, tileX); x < Math.min(width, tileX + tileWidth); x++) {
+                reserved[y * width + x] = (short) Math.max(0, reserved[y * width + x] + delta);
+            }
+        }
+    }
+
+    boolean isReserved(final int tileX, final int tileY) {
+        return reserved[tileY * width + tileX] > 0;
+    }
+}
@@ -0,0 +1,25 @@
+package bwapi;
+
+/**
+ * Ranks the candidate locations of {@link Game#getBuildLocation}, the closest candidate to the desired location wins.
+ */
+public interface PlacementDistance {
+    /**
+     * The approximated air distance, the default.
+     */
+    PlacementDistance AIR = (fromX, fromY, toX, toY) -> Position.getApproxDistance(fromX, fromY, toX, toY);
+
+    /**
+     * @return the distance in tiles between the two tiles, or Integer.MAX_VALUE to skip the candidate
+     */
+    int getDistance(int fromTileX, int fromTileY, int toTileX, int toTileY);
+
+    /**
+     * Ground distance over the regions of the map: the air distance within a region, otherwise the shortest path
+     * from the center of one region to the center of the next. Candidates that can not be reached by ground are
+     * skipped. The distances between regions come from {@link Game#getRegionGroundDistance(Region, Region)}.
+     */
+    static PlacementDistance ground(final Game game) {
+        return new GroundPlacementDistance(game);
+    }
+}
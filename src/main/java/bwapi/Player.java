@@ -1,8 +1,12 @@
 package bwapi;
 
 import bwapi.ClientData.PlayerData;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static bwapi.TextColor.*;
 import static bwapi.UnitType.*;
@@ -18,6 +22,22 @@ public class Player {
     private final PlayerType playerType;
     private final Force force;
     private final TilePosition startLocation;
+    // Visible units of this player, maintained by Game from the unit events
+    private final Set<Unit> units = new HashSet<>();
+    private final Set<Unit> unitsView = Collections.unmodifiableSet(units);
+    private final Map<UnitType, Set<Unit>> unitsByType = new EnumMap<>(UnitType.class);
+    private final Map<UnitType, Set<Unit>> unitsByTypeView = new EnumMap<>(UnitType.class);
+    // Stats with upgrades by UnitType and WeaponType ID, computed again when an upgrade level changed
+    private final int[] upgradeLevels = new int[UpgradeType.idToEnum.length];
+    private int statsFrame = -1;
+    private int statsVersion;
+    private final int[] maxEnergy = new int[UnitType.idToEnum.length];
+    private final double[] topSpeed = new double[UnitType.idToEnum.length];
+    private final int[] sightRange = new int[UnitType.idToEnum.length];
+    private final int[] weaponDamageCooldown = new int[UnitType.idToEnum.length];
+    private final int[] armor = new int[UnitType.idToEnum.length];
+    private final int[] weaponMaxRange = new int[WeaponType.Unknown.id + 1];
+    private final int[] damage = new int[WeaponType.Unknown.id + 1];
 
     Player(final PlayerData playerData, final int id, final Game game) {
         this.playerData = playerData;
@@ -38,10 +58,34 @@ public class Player {
         return name;
     }
 
+    /**
+     * @return a read-only view of the visible units of this player. The same set follows the unit events as they come
+     * in (shown, hidden, destroyed, changing owner), copy it to keep the units of a frame.
+     */
     public Set<Unit> getUnits() {
-        return game.getAllUnits().stream()
-                .filter(u -> equals(u.getPlayer()))
-                .collect(Collectors.toSet());
+        return unitsView;
+    }
+
+    /**
+     * @return a read-only view of the visible units of this player of the given type. Like {@link #getUnits()} the
+     * same set follows the unit events, a unit that morphs moves to the set of its new type.
+     */
+    public Set<Unit> getUnits(final UnitType unitType) {
+        return unitsByTypeView.computeIfAbsent(unitType, t -> Collections.unmodifiableSet(unitsOfType(t)));
+    }
+
+    private Set<Unit> unitsOfType(final UnitType unitType) {
+        return unitsByType.computeIfAbsent(unitType, t -> new HashSet<>());
+    }
+
+    void addUnit(final Unit unit, final UnitType unitType) {
+        units.add(unit);
+        unitsOfType(unitType).add(unit);
+    }
+
+    void removeUnit(final Unit unit, final UnitType unitType) {
+        units.remove(unit);
+        unitsOfType(unitType).remove(unit);
     }
 
     public Race getRace() {
@@ -243,35 +287,109 @@ public class Player {
         }
     }
 
+    /**
+     * Checks once per frame whether an upgrade level changed and if so computes the stats of all types again.
+     *
+     * @return a number that changes whenever the stats changed
+     */
+    int statsVersion() {
+        final int frame = game.getFrameCount();
+        if (frame != statsFrame) {
+            statsFrame = frame;
+            boolean changed = statsVersion == 0;
+            for (int i = 0; i < upgradeLevels.length; i++) {
+                final int level = playerData.getUpgradeLevel(i);
+                if (level != upgradeLevels[i]) {
+                    upgradeLevels[i] = level;
+                    changed = true;
+                }
+            }
+            if (changed) {
+                for (final UnitType unit : UnitType.values()) {
+                    maxEnergy[unit.id] = computeMaxEnergy(unit);
+                    topSpeed[unit.id] = computeTopSpeed(unit);
+                    sightRange[unit.id] = computeSightRange(unit);
+                    weaponDamageCooldown[unit.id] = computeWeaponDamageCooldown(unit);
+                    armor[unit.id] = computeArmor(unit);
+                }
+                for (final WeaponType weapon : WeaponType.values()) {
+                    weaponMaxRange[weapon.id] = computeWeaponMaxRange(weapon);
+                    damage[weapon.id] = computeDamage(weapon);
+                }
+                statsVersion++;
+            }
+        }
+        return statsVersion;
+    }
+
+    private int level(final UpgradeType upgrade) {
+        return upgradeLevels[upgrade.id];
+    }
+
     public int maxEnergy(final UnitType unit) {
+        statsVersion();
+        return maxEnergy[unit.id];
+    }
+
+    public double topSpeed(final UnitType unit) {
+        statsVersion();
+        return topSpeed[unit.id];
+    }
+
+    public int weaponMaxRange(final WeaponType weapon) {
+        statsVersion();
+        return weaponMaxRange[weapon.id];
+    }
+
+    public int sightRange(final UnitType unit) {
+        statsVersion();
+        return sightRange[unit.id];
+    }
+
+    public int weaponDamageCooldown(final UnitType unit) {
+        statsVersion();
+        return weaponDamageCooldown[unit.id];
+    }
+
+    public int armor(final UnitType unit) {
+        statsVersion();
+        return armor[unit.id];
+    }
+
+    public int damage(final WeaponType wpn) {
+        statsVersion();
+        return damage[wpn.id];
+    }
+
+    private int computeMaxEnergy(final UnitType unit) {
         int energy = unit.maxEnergy();
-        if (unit == Protoss_Arbiter && getUpgradeLevel(Khaydarin_Core) > 0 ||
-                unit == Protoss_Corsair && getUpgradeLevel(Argus_Jewel) > 0 ||
-                unit == Protoss_Dark_Archon && getUpgradeLevel(Argus_Talisman) > 0 ||
-                unit == Protoss_High_Templar && getUpgradeLevel(Khaydarin_Amulet) > 0 ||
-                unit == Terran_Ghost && getUpgradeLevel(Moebius_Reactor) > 0 ||
-                unit == Terran_Battlecruiser && getUpgradeLevel(Colossus_Reactor) > 0 ||
-                unit == Terran_Science_Vessel && getUpgradeLevel(Titan_Reactor) > 0 ||
-                unit == Terran_Wraith && getUpgradeLevel(Apollo_Reactor) > 0 ||
-                unit == Terran_Medic && getUpgradeLevel(Caduceus_Reactor) > 0 ||
-                unit == Zerg_Defiler && getUpgradeLevel(Metasynaptic_Node) > 0 ||
-                unit == Zerg_Queen && getUpgradeLevel(Gamete_Meiosis) > 0) {
+        if (unit == Protoss_Arbiter && level(Khaydarin_Core) > 0 ||
+                unit == Protoss_Corsair && level(Argus_Jewel) > 0 ||
+                unit == Protoss_Dark_Archon && level(Argus_Talisman) > 0 ||
+                unit == Protoss_High_Templar && level(Khaydarin_Amulet) > 0 ||
+                unit == Terran_Ghost && level(Moebius_Reactor) > 0 ||
+                unit == Terran_Battlecruiser && level(Colossus_Reactor) > 0 ||
+                unit == Terran_Science_Vessel && level(Titan_Reactor) > 0 ||
+                unit == Terran_Wraith && level(Apollo_Reactor) > 0 ||
+                unit == Terran_Medic && level(Caduceus_Reactor) > 0 ||
+                unit == Zerg_Defiler && level(Metasynaptic_Node) > 0 ||
+                unit == Zerg_Queen && level(Gamete_Meiosis) > 0) {
             energy += 50;
         }
         return energy;
     }
 
-    public double topSpeed(final UnitType unit) {
+    private double computeTopSpeed(final UnitType unit) {
         double speed = unit.topSpeed();
-        if (unit == Terran_Vulture && getUpgradeLevel(Ion_Thrusters) > 0 ||
-                unit == Zerg_Overlord && getUpgradeLevel(Pneumatized_Carapace) > 0 ||
-                unit == Zerg_Zergling && getUpgradeLevel(Metabolic_Boost) > 0 ||
-                unit == Zerg_Hydralisk && getUpgradeLevel(Muscular_Augments) > 0 ||
-                unit == Protoss_Zealot && getUpgradeLevel(Leg_Enhancements) > 0 ||
-                unit == Protoss_Shuttle && getUpgradeLevel(Gravitic_Drive) > 0 ||
-                unit == Protoss_Observer && getUpgradeLevel(Gravitic_Boosters) > 0 ||
-                unit == Protoss_Scout && getUpgradeLevel(Gravitic_Thrusters) > 0 ||
-                unit == Zerg_Ultralisk && getUpgradeLevel(Anabolic_Synthesis) > 0) {
+        if (unit == Terran_Vulture && level(Ion_Thrusters) > 0 ||
+                unit == Zerg_Overlord && level(Pneumatized_Carapace) > 0 ||
+                unit == Zerg_Zergling && level(Metabolic_Boost) > 0 ||
+                unit == Zerg_Hydralisk && level(Muscular_Augments) > 0 ||
+                unit == Protoss_Zealot && level(Leg_Enhancements) > 0 ||
+                unit == Protoss_Shuttle && level(Gravitic_Drive) > 0 ||
+                unit == Protoss_Observer && level(Gravitic_Boosters) > 0 ||
+                unit == Protoss_Scout && level(Gravitic_Thrusters) > 0 ||
+                unit == Zerg_Ultralisk && level(Anabolic_Synthesis) > 0) {
             if (unit == Protoss_Scout) {
                 speed += 427 / 256.0;
             } else {
@@ -286,33 +404,33 @@ public class Player {
         return speed;
     }
 
-    public int weaponMaxRange(final WeaponType weapon) {
+    private int computeWeaponMaxRange(final WeaponType weapon) {
         int range = weapon.maxRange();
-        if (weapon == Gauss_Rifle && getUpgradeLevel(U_238_Shells) > 0 ||
-                weapon == Needle_Spines && getUpgradeLevel(Grooved_Spines) > 0) {
+        if (weapon == Gauss_Rifle && level(U_238_Shells) > 0 ||
+                weapon == Needle_Spines && level(Grooved_Spines) > 0) {
             range += 1 * 32;
-        } else if (weapon == Phase_Disruptor && getUpgradeLevel(Singularity_Charge) > 0) {
+        } else if (weapon == Phase_Disruptor && level(Singularity_Charge) > 0) {
             range += 2 * 32;
-        } else if (weapon == Hellfire_Missile_Pack && getUpgradeLevel(Charon_Boosters) > 0) {
+        } else if (weapon == Hellfire_Missile_Pack && level(Charon_Boosters) > 0) {
             range += 3 * 32;
         }
         return range;
     }
 
-    public int sightRange(final UnitType unit) {
+    private int computeSightRange(final UnitType unit) {
         int range = unit.sightRange();
-        if (unit == Terran_Ghost && getUpgradeLevel(Ocular_Implants) > 0 ||
-                unit == Zerg_Overlord && getUpgradeLevel(Antennae) > 0 ||
-                unit == Protoss_Observer && getUpgradeLevel(Sensor_Array) > 0 ||
-                unit == Protoss_Scout && getUpgradeLevel(Apial_Sensors) > 0) {
+        if (unit == Terran_Ghost && level(Ocular_Implants) > 0 ||
+                unit == Zerg_Overlord && level(Antennae) > 0 ||
+                unit == Protoss_Observer && level(Sensor_Array) > 0 ||
+                unit == Protoss_Scout && level(Apial_Sensors) > 0) {
             range = 11 * 32;
         }
         return range;
     }
 
-    public int weaponDamageCooldown(final UnitType unit) {
+    private int computeWeaponDamageCooldown(final UnitType unit) {
         int cooldown = unit.groundWeapon().damageCooldown();
-        if (unit == Zerg_Zergling && getUpgradeLevel(Adrenal_Glands) > 0) {
+        if (unit == Zerg_Zergling && level(Adrenal_Glands) > 0) {
             // Divide cooldown by 2
             cooldown /= 2;
             // Prevent cooldown from going out of bounds
@@ -321,18 +439,18 @@ public class Player {
         return cooldown;
     }
 
-    public int armor(final UnitType unit) {
+    private int computeArmor(final UnitType unit) {
         int armor = unit.armor();
-        armor += getUpgradeLevel(unit.armorUpgrade());
-        if ((unit == Zerg_Ultralisk && getUpgradeLevel(Chitinous_Plating) > 0) || unit == Hero_Torrasque) {
+        armor += level(unit.armorUpgrade());
+        if ((unit == Zerg_Ultralisk && level(Chitinous_Plating) > 0) || unit == Hero_Torrasque) {
             armor += 2;
         }
         return armor;
     }
 
-    public int damage(final WeaponType wpn) {
+    private int computeDamage(final WeaponType wpn) {
         int dmg = wpn.damageAmount();
-        dmg += getUpgradeLevel(wpn.upgradeType()) * wpn.damageBonus();
+        dmg += level(wpn.upgradeType()) * wpn.damageBonus();
         dmg *= wpn.damageFactor();
         return dmg;
     }
@@ -17,23 +17,23 @@ public class Position extends Point {
     this(position.getX(), position.getY());
   }
 
-  private static int getApproxDistance(final int x1, final int y1, final int x2, final int y2) {
-        int min = Math.abs(x1 - x2);
-        int max = Math.abs(y1 - y2);
-        if (max < min) {
-            final int temp = min;
-            min = max;
-            max = temp;
-        }
-
-        if (min < (max >> 2)) {
-            return max;
-        }
-
-        final int minCalc = (3 * min) >> 3;
-        return (minCalc >> 5) + minCalc + max - (max >> 4) - (max >> 6);
+  public static int getApproxDistance(final int x1, final int y1, final int x2, final int y2) {
+    int min = Math.abs(x1 - x2);
+    int max = Math.abs(y1 - y2);
+    if (max < min) {
+      final int temp = min;
+      min = max;
+      max = temp;
     }
 
+    if (min < (max >> 2)) {
+      return max;
+    }
+
+    final int minCalc = (3 * min) >> 3;
+    return (minCalc >> 5) + minCalc + max - (max >> 4) - (max >> 6);
+  }
+
     public int getApproxDistance(final Position position) {
         return getApproxDistance(x, y, position.x, position.y);
     }
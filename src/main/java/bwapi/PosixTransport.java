@@ -0,0 +1,101 @@
+package bwapi;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Connects to a BWAPI server on Linux and other POSIX systems.
+ * The game table and the game data are regular files that get memory mapped, and the pipe is a pair of FIFOs:
+ * one written by the client and one written by the server.
+ * All of them live in the directory given by the "bwapi.shm.dir" system property, /dev/shm by default.
+ */
+class PosixTransport implements Client.Transport {
+    static final String GAME_TABLE = "bwapi_shared_memory_game_list";
+
+    private final Path directory;
+    private RandomAccessFile toServer;
+    private RandomAccessFile toClient;
+
+    PosixTransport() {
+        this(defaultDirectory());
+    }
+
+    PosixTransport(final Path directory) {
+        this.directory = directory;
+    }
+
+    static Path defaultDirectory() {
+        final String directory = System.getProperty("bwapi.shm.dir");
+        if (directory != null) {
+            return Paths.get(directory);
+        }
+        final Path shm = Paths.get("/dev/shm");
+        return Files.isDirectory(shm) ? shm : Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    static String sharedMemoryName(final int procID) {
+        return "bwapi_shared_memory_" + procID;
+    }
+
+    static String clientPipeName(final int procID) {
+        return "bwapi_pipe_" + procID + "_client";
+    }
+
+    static String serverPipeName(final int procID) {
+        return "bwapi_pipe_" + procID + "_server";
+    }
+
+    static ByteBuffer map(final Path file, final int size) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    static void mkfifo(final Path file) throws IOException {
+        if (LibC.INSTANCE.mkfifo(file.toString(), 0600) != 0) {
+            throw new IOException("Could not create pipe " + file + ", errno: " + Native.getLastError());
+        }
+    }
+
+    @Override
+    public ByteBuffer mapGameTable(final int size) throws IOException {
+        return map(directory.resolve(GAME_TABLE), size);
+    }
+
+    @Override
+    public ByteBuffer mapSharedMemory(final int procID, final int size) throws IOException {
+        return map(directory.resolve(sharedMemoryName(procID)), size);
+    }
+
+    @Override
+    public void connectPipe(final int procID) throws IOException {
+        // Opening a FIFO read-write never blocks on Linux, so the order in which both sides connect does not matter
+        toServer = new RandomAccessFile(directory.resolve(clientPipeName(procID)).toFile(), "rw");
+        toClient = new RandomAccessFile(directory.resolve(serverPipeName(procID)).toFile(), "rw");
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return toClient.readByte();
+    }
+
+    @Override
+    public void writeByte(final byte code) throws IOException {
+        toServer.writeByte(code);
+    }
+
+    interface LibC extends Library {
+        LibC INSTANCE = Native.load("c", LibC.class);
+
+        int mkfifo(String path, int mode);
+    }
+}
@@ -0,0 +1,82 @@
+package bwapi;
+
+/**
+ * Counts for every tile how many completed pylons of a player power it, so that a power check is an array lookup
+ * instead of a loop over all pylons.
+ * <p>
+ * A pixel is powered by a pylon at p if |x - p.x| < 256, |y - p.y| < 160 and the psi field mask is set for the
+ * 32x32 block it is in. Pylons are always tile aligned, so these blocks are tiles. The strict bounds exclude the
+ * first pixel column of the leftmost mask column and the first pixel row of the top mask row, so those are counted
+ * separately and subtracted for pixels on the left or top edge of a tile.
+ */
+class PowerGrid {
+    static final boolean[][] PSI_FIELD_MASK = {
+            {false, false, false, false, false, true, true, true, true, true, true, false, false, false, false, false},
+            {false, false, true, true, true, true, true, true, true, true, true, true, true, true, false, false},
+            {false, true, true, true, true, true, true, true, true, true, true, true, true, true, true, false},
+            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
+            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
+            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
+            {true, true, true, true, true, true, true, true, true, true, true, true, true, true, true, true},
+            {false, true, true, true, true, true, true, true, true, true, true, true, true, true, true, false},
+            {false, false, true, true, true, true, true, true, true, true, true, true, true, true, false, false},
+            {false, false, false, false, false, true, true, true, true, true, true, false, false, false, false, false}
+    };
+    // Offset in tiles of the top left corner of the mask from the pylon
+    private static final int MASK_LEFT = 8;
+    private static final int MASK_TOP = 5;
+
+    private final int width;
+    private final int height;
+    private final short[] all;
+    private final short[] leftEdge;
+    private final short[] topEdge;
+
+    PowerGrid(final int mapWidth, final int mapHeight) {
+        width = mapWidth;
+        height = mapHeight;
+        all = new short[mapWidth * mapHeight];
+        leftEdge = new short[mapWidth * mapHeight];
+        topEdge = new short[mapWidth * mapHeight];
+    }
+
+    /**
+     * Adds (delta 1) or removes (delta -1) the field of a pylon at the given pixel position.
+     */
+    void add(final int pylonX, final int pylonY, final int delta) {
+        final int left = (pylonX >> 5) - MASK_LEFT;
+        final int top = (pylonY >> 5) - MASK_TOP;
+        for (int row = 0; row < PSI_FIELD_MASK.length; row++) {
+            final int tileY = top + row;
+            if (tileY < 0 || tileY >= height) {
+                continue;
+            }
+            for (int column = 0; column < PSI_FIELD_MASK[row].length; column++) {
+                final int tileX = left + column;
+                if (tileX < 0 || tileX >= width || !PSI_FIELD_MASK[row][column]) {
+                    continue;
+                }
+                final int i = tileY * width + tileX;
+                all[i] += delta;
+                if (column == 0) {
+                    leftEdge[i] += delta;
+                }
+                if (row == 0) {
+                    topEdge[i] += delta;
+                }
+            }
+        }
+    }
+
+    boolean hasPower(final int x, final int y) {
+        final int i = (y >> 5) * width + (x >> 5);
+        int count = all[i];
+        if ((x & 31) == 0) {
+            count -= leftEdge[i];
+        }
+        if ((y & 31) == 0) {
+            count -= topEdge[i];
+        }
+        return count > 0;
+    }
+}
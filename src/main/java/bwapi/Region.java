@@ -117,10 +117,39 @@ public class Region {
     }
 
     public List<Unit> getUnits() {
+        final RegionIndex index = game.regionIndex();
+        if (index != null) {
+            return index.getUnits(id);
+        }
         return game.getUnitsInRectangle(getBoundsLeft(), getBoundsTop(), getBoundsRight(), getBoundsBottom(),
                 u -> equals(u.getRegion()));
     }
 
+    /**
+     * @return the number of visible units in this region
+     */
+    public int getUnitCount() {
+        final RegionIndex index = game.regionIndex();
+        return index != null ? index.getUnitCount(id) : getUnits().size();
+    }
+
+    /**
+     * @return the number of visible units of the player in this region
+     */
+    public int getUnitCount(final Player player) {
+        final RegionIndex index = game.regionIndex();
+        if (index != null) {
+            return index.getUnitCount(id, player.getID());
+        }
+        int count = 0;
+        for (final Unit unit : getUnits()) {
+            if (player.equals(unit.getPlayer())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     public boolean equals(final Object that) {
         if (!(that instanceof Region)) {
             return false;
@@ -0,0 +1,76 @@
+package bwapi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Shortest ground paths between all pairs of regions, see {@link Game#getRegionGroundDistance(Region, Region)}.
+ * The edges are the distances between the centers of neighbouring accessible regions. One Dijkstra search per
+ * source region, run in parallel once per game. A map with n regions takes 6 * n * n bytes.
+ */
+class RegionDistances {
+    private final int count;
+    // Per source and target region ID, source * count + target
+    private final int[] distances;
+    private final short[] nextRegions;
+
+    RegionDistances(final List<Region> regions) {
+        count = regions.size();
+        distances = new int[count * count];
+        nextRegions = new short[count * count];
+        IntStream.range(0, count).parallel().forEach(source -> shortestPaths(regions, regions.get(source)));
+    }
+
+    private void shortestPaths(final List<Region> regions, final Region source) {
+        final int offset = source.getID() * count;
+        Arrays.fill(distances, offset, offset + count, Integer.MAX_VALUE);
+        Arrays.fill(nextRegions, offset, offset + count, (short) -1);
+        distances[offset + source.getID()] = 0;
+        nextRegions[offset + source.getID()] = (short) source.getID();
+        if (!source.isAccessible()) {
+            return;
+        }
+        // Entries are the distance in the upper and the region ID in the lower 32 bits
+        final PriorityQueue<Long> queue = new PriorityQueue<>();
+        queue.add((long) source.getID());
+        while (!queue.isEmpty()) {
+            final long entry = queue.poll();
+            final int id = (int) entry;
+            final int d = (int) (entry >>> 32);
+            if (d > distances[offset + id]) {
+                continue;
+            }
+            final Region region = regions.get(id);
+            for (final Region neighbour : region.getNeighbors()) {
+                if (!neighbour.isAccessible()) {
+                    continue;
+                }
+                final int next = d + region.getDistance(neighbour);
+                if (next < distances[offset + neighbour.getID()]) {
+                    distances[offset + neighbour.getID()] = next;
+                    // The first step of the path to the neighbour is the one to this region, or the neighbour itself
+                    nextRegions[offset + neighbour.getID()] = id == source.getID() ?
+                            (short) neighbour.getID() : nextRegions[offset + id];
+                    queue.add(((long) next << 32) | neighbour.getID());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the distance in pixels, or -1 if the target can not be reached
+     */
+    int getDistance(final int source, final int target) {
+        final int distance = distances[source * count + target];
+        return distance == Integer.MAX_VALUE ? -1 : distance;
+    }
+
+    /**
+     * @return the ID of the first region after the source on the way to the target, or -1 if it can not be reached
+     */
+    int getNextRegion(final int source, final int target) {
+        return nextRegions[source * count + target];
+    }
+}
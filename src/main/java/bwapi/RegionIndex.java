@@ -0,0 +1,125 @@
+package bwapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The visible units of every region and their number per player, for {@link Region#getUnits()}. Updated in place
+ * every frame: a unit is only looked up again when it entered another tile, or moved within a tile that is shared by
+ * several regions, and only moves to another bucket when its region changed.
+ */
+class RegionIndex {
+    private final Game game;
+    private final int playerCount;
+
+    // Per region ID, the IDs of its units in no particular order
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    // Per region ID, playerCount counters each
+    private final int[] counts;
+
+    // Per unit ID, -1 if not indexed
+    private int[] regionIds = new int[0];
+    private int[] playerIds = new int[0];
+    private int[] slots = new int[0];
+    private int[] tiles = new int[0];
+
+    RegionIndex(final Game game, final int regionCount, final int playerCount) {
+        this.game = game;
+        this.playerCount = playerCount;
+        buckets = new int[regionCount][];
+        Arrays.fill(buckets, new int[0]);
+        bucketSizes = new int[regionCount];
+        counts = new int[regionCount * playerCount];
+    }
+
+    void update(final List<Unit> allUnits, final int mapWidth) {
+        for (int i = 0; i < allUnits.size(); i++) {
+            final Unit unit = allUnits.get(i);
+            final int id = unit.getID();
+            if (id >= regionIds.length) {
+                final int oldLength = regionIds.length;
+                final int length = Math.max(id + 1, oldLength * 2);
+                regionIds = Arrays.copyOf(regionIds, length);
+                Arrays.fill(regionIds, oldLength, length, -1);
+                playerIds = Arrays.copyOf(playerIds, length);
+                slots = Arrays.copyOf(slots, length);
+                tiles = Arrays.copyOf(tiles, length);
+            }
+            final Position position = unit.getPosition();
+            final int tileX = position.x / 32;
+            final int tileY = position.y / 32;
+            final int tile = tileY * mapWidth + tileX;
+            final Player player = unit.getPlayer();
+            final int playerId = player == null || player.getID() >= playerCount ? -1 : player.getID();
+            final int regionId;
+            if (regionIds[id] >= 0 && tiles[id] == tile && !game.isSplitTile(tileX, tileY)) {
+                regionId = regionIds[id];
+            } else {
+                regionId = game.getRegionIDAt(position.x, position.y);
+            }
+            tiles[id] = tile;
+            if (regionId != regionIds[id] || playerId != playerIds[id]) {
+                remove(id);
+                add(id, regionId, playerId);
+            }
+        }
+    }
+
+    private void add(final int id, final int regionId, final int playerId) {
+        if (regionId < 0 || regionId >= buckets.length) {
+            return;
+        }
+        if (bucketSizes[regionId] == buckets[regionId].length) {
+            buckets[regionId] = Arrays.copyOf(buckets[regionId], Math.max(8, bucketSizes[regionId] * 2));
+        }
+        slots[id] = bucketSizes[regionId];
+        buckets[regionId][bucketSizes[regionId]++] = id;
+        regionIds[id] = regionId;
+        playerIds[id] = playerId;
+        if (playerId >= 0) {
+            counts[regionId * playerCount + playerId]++;
+        }
+    }
+
+    /**
+     * Removes a unit that is no longer visible, or moves out of its region.
+     */
+    void remove(final int id) {
+        if (id < 0 || id >= regionIds.length || regionIds[id] < 0) {
+            return;
+        }
+        final int regionId = regionIds[id];
+        final int[] bucket = buckets[regionId];
+        final int last = bucket[--bucketSizes[regionId]];
+        bucket[slots[id]] = last;
+        slots[last] = slots[id];
+        if (playerIds[id] >= 0) {
+            counts[regionId * playerCount + playerIds[id]]--;
+        }
+        regionIds[id] = -1;
+    }
+
+    /**
+     * @return the units of the region, ordered by ID like {@link Game#getAllUnits()}
+     */
+    List<Unit> getUnits(final int regionId) {
+        final int size = bucketSizes[regionId];
+        final int[] ids = Arrays.copyOf(buckets[regionId], size);
+        Arrays.sort(ids);
+        final List<Unit> result = new ArrayList<>(size);
+        for (final int id : ids) {
+            result.add(game.getUnit(id));
+        }
+        return result;
+    }
+
+    int getUnitCount(final int regionId) {
+        return bucketSizes[regionId];
+    }
+
+    int getUnitCount(final int regionId, final int playerId) {
+        return playerId >= 0 && playerId < playerCount ? counts[regionId * playerCount + playerId] : 0;
+    }
+}
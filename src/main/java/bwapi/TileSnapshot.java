@@ -0,0 +1,126 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+
+/**
+ * The visibility, explored and creep state of all tiles of a frame, copied once at the start of the frame into
+ * bitsets, together with the tiles that changed since the previous snapshot.
+ * Enable it with {@link Game#setTileSnapshotEnabled(boolean)}; while enabled {@link Game#isVisible},
+ * {@link Game#isExplored} and {@link Game#hasCreep} also read from it.
+ * <p>
+ * The first snapshot after enabling reports every visible, explored and creep tile as changed.
+ */
+public final class TileSnapshot {
+    private final BitGrid visible;
+    private final BitGrid explored;
+    private final BitGrid creep;
+    private final TileChanges visibleChanges = new TileChanges();
+    private final TileChanges exploredChanges = new TileChanges();
+    private final TileChanges creepChanges = new TileChanges();
+    private int frame = -1;
+
+    TileSnapshot(final int mapWidth, final int mapHeight) {
+        visible = new BitGrid(mapWidth, mapHeight);
+        explored = new BitGrid(mapWidth, mapHeight);
+        creep = new BitGrid(mapWidth, mapHeight);
+    }
+
+    void update(final GameData gameData, final int frame) {
+        visibleChanges.clear();
+        exploredChanges.clear();
+        creepChanges.clear();
+        for (int y = 0; y < visible.height; y++) {
+            for (int x = 0; x < visible.width; x++) {
+                if (visible.update(x, y, gameData.isVisible(x, y))) {
+                    visibleChanges.add(x, y);
+                }
+                if (explored.update(x, y, gameData.isExplored(x, y))) {
+                    exploredChanges.add(x, y);
+                }
+                if (creep.update(x, y, gameData.getHasCreep(x, y))) {
+                    creepChanges.add(x, y);
+                }
+            }
+        }
+        this.frame = frame;
+    }
+
+    /**
+     * @return the frame of this snapshot
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Unlike {@link Game#isVisible(int, int)} this does not check the bounds of the map.
+     */
+    public boolean isVisible(final int tileX, final int tileY) {
+        return visible.get(tileX, tileY);
+    }
+
+    public boolean isExplored(final int tileX, final int tileY) {
+        return explored.get(tileX, tileY);
+    }
+
+    public boolean hasCreep(final int tileX, final int tileY) {
+        return creep.get(tileX, tileY);
+    }
+
+    /**
+     * @return the tiles that became visible or were hidden since the previous snapshot
+     */
+    public TileChanges getVisibleChanges() {
+        return visibleChanges;
+    }
+
+    public TileChanges getExploredChanges() {
+        return exploredChanges;
+    }
+
+    public TileChanges getCreepChanges() {
+        return creepChanges;
+    }
+
+    /**
+     * A list of tiles, reused from snapshot to snapshot. The new value of a tile is read from the snapshot.
+     */
+    public static final class TileChanges {
+        private int[] x = new int[64];
+        private int[] y = new int[64];
+        private int size;
+
+        TileChanges() {
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void add(final int tileX, final int tileY) {
+            if (size == x.length) {
+                final int[] largerX = new int[size * 2];
+                final int[] largerY = new int[size * 2];
+                System.arraycopy(x, 0, largerX, 0, size);
+                System.arraycopy(y, 0, largerY, 0, size);
+                x = largerX;
+                y = largerY;
+            }
+            x[size] = tileX;
+            y[size] = tileY;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int getX(final int i) {
+            return x[i];
+        }
+
+        public int getY(final int i) {
+            return y[i];
+        }
+    }
+}
@@ -36,6 +36,25 @@ public class Unit implements Comparable<Unit>{
     private int lastPlayerUpdate = -1;
     private int lastCommandFrame;
     private UnitCommand lastCommand;
+    // Player and type this unit is filed under in Player.getUnits, null while it is not visible
+    Player indexedPlayer;
+    UnitType indexedType;
+    // Power grid and position this unit is stamped into as a pylon, null if it does not power anything
+    PowerGrid poweredGrid;
+    Position poweredPosition;
+    // canCommand and canIssueCommandType(ct, false) of the frame commandCacheFrame, a bit per UnitCommandType ID
+    private int commandCacheFrame = -1;
+    private boolean canCommand;
+    private long checkedCommandTypes;
+    private long allowedCommandTypes;
+    // Bounding box and tile position, computed again when the position or the type object changes
+    private Position boxPosition;
+    private UnitType boxType;
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+    private TilePosition tilePosition;
 
 
     Unit(final UnitData unitData, int id, final Game game) {
@@ -99,10 +118,24 @@ public class Unit implements Comparable<Unit>{
     }
 
     public TilePosition getTilePosition() {
+        updateBox();
+        return tilePosition;
+    }
+
+    private void updateBox() {
         final Position p = getPosition();
         final UnitType ut = getType();
-        return new Position(Math.abs(p.x - ut.tileWidth() * 32 / 2), Math.abs(p.y - ut.tileHeight() * 32 / 2))
-                .toTilePosition();
+        if (p == boxPosition && ut == boxType) {
+            return;
+        }
+        left = p.x - ut.dimensionLeft();
+        top = p.y - ut.dimensionUp();
+        right = p.x + ut.dimensionRight();
+        bottom = p.y + ut.dimensionDown();
+        tilePosition = new TilePosition(Math.abs(p.x - ut.tileWidth() * 32 / 2) / TilePosition.SIZE_IN_PIXELS,
+                Math.abs(p.y - ut.tileHeight() * 32 / 2) / TilePosition.SIZE_IN_PIXELS);
+        boxPosition = p;
+        boxType = ut;
     }
 
     public double getAngle() {
@@ -122,19 +155,23 @@ public class Unit implements Comparable<Unit>{
     }
 
     public int getLeft() {
-        return getX() - getType().dimensionLeft();
+        updateBox();
+        return left;
     }
 
     public int getTop() {
-        return getY() - getType().dimensionUp();
+        updateBox();
+        return top;
     }
 
     public int getRight() {
-        return getX() + getType().dimensionRight();
+        updateBox();
+        return right;
     }
 
     public int getBottom() {
-        return getY() + getType().dimensionDown();
+        updateBox();
+        return bottom;
     }
 
     public int getHitPoints() {
@@ -158,38 +195,19 @@ public class Unit implements Comparable<Unit>{
     }
 
     public int getDistance(final Position target) {
-        // If this unit does not exist or target is invalid
-        if (!exists() || target == null) {
+        // If target is invalid
+        if (target == null) {
             return Integer.MAX_VALUE;
         }
-        /////// Compute distance
-
-        // retrieve left/top/right/bottom values for calculations
-        final int left = target.x - 1;
-        final int top = target.y - 1;
-        final int right = target.x + 1;
-        final int bottom = target.y + 1;
-
-        // compute x distance
-        int xDist = getLeft() - right;
-        if (xDist < 0) {
-            xDist = left - getRight();
-            if (xDist < 0) {
-                xDist = 0;
-            }
-        }
+        return getDistance(target.x, target.y);
+    }
 
-        // compute y distance
-        int yDist = getTop() - bottom;
-        if (yDist < 0) {
-            yDist = top - getBottom();
-            if (yDist < 0) {
-                yDist = 0;
-            }
+    public int getDistance(final int x, final int y) {
+        // If this unit does not exist
+        if (!exists()) {
+            return Integer.MAX_VALUE;
         }
-
-        // compute actual distance
-        return Position.Origin.getApproxDistance(new Position(xDist, yDist));
+        return getDistance(x - 1, y - 1, x + 1, y + 1);
     }
 
     public int getDistance(final Unit target) {
@@ -203,34 +221,31 @@ public class Unit implements Comparable<Unit>{
             return 0;
         }
 
-        /////// Compute distance
-
-        // retrieve left/top/right/bottom values for calculations
-        final int left = target.getLeft() - 1;
-        final int top = target.getTop() - 1;
-        final int right = target.getRight() + 1;
-        final int bottom = target.getBottom() + 1;
+        return getDistance(target.getLeft() - 1, target.getTop() - 1, target.getRight() + 1, target.getBottom() + 1);
+    }
 
+    // Distance from the bounding box of this unit to the given box
+    private int getDistance(final int targetLeft, final int targetTop, final int targetRight, final int targetBottom) {
         // compute x distance
-        int xDist = getLeft() - right;
+        int xDist = getLeft() - targetRight;
         if (xDist < 0) {
-            xDist = left - getRight();
+            xDist = targetLeft - getRight();
             if (xDist < 0) {
                 xDist = 0;
             }
         }
 
         // compute y distance
-        int yDist = getTop() - bottom;
+        int yDist = getTop() - targetBottom;
         if (yDist < 0) {
-            yDist = top - getBottom();
+            yDist = targetTop - getBottom();
             if (yDist < 0) {
                 yDist = 0;
             }
         }
 
         // compute actual distance
-        return Position.Origin.getApproxDistance(new Position(xDist, yDist));
+        return Position.getApproxDistance(0, 0, xDist, yDist);
     }
 
     public boolean hasPath(final Position target) {
@@ -417,6 +432,16 @@ public class Unit implements Comparable<Unit>{
         return new Position(unitData.getOrderTargetPositionX(), unitData.getOrderTargetPositionY());
     }
 
+    /**
+     * @return whether the current order has the target unit, or the target position if the target is -1
+     */
+    boolean hasOrderTarget(final int targetID, final int x, final int y) {
+        if (targetID >= 0) {
+            return unitData.getOrderTarget() == targetID;
+        }
+        return unitData.getOrderTargetPositionX() == x && unitData.getOrderTargetPositionY() == y;
+    }
+
     public Position getRallyPosition() {
         return new Position(unitData.getRallyPositionX(), unitData.getRallyPositionY());
     }
@@ -441,9 +466,16 @@ public class Unit implements Comparable<Unit>{
         return game.getUnit(unitData.getTransport());
     }
 
+    /**
+     * @return a read-only view of the loaded units of this unit, it follows the game from frame to frame
+     */
     public Set<Unit> getLoadedUnits() {
         if (getType().spaceProvided() < 1) {
-            return new HashSet<>();
+            return Collections.emptySet();
+        }
+        final UnitRelations relations = game.unitRelations();
+        if (relations != null) {
+            return relations.getLoadedUnits(id);
         }
         return game.getAllUnits().stream()
                 .filter(u -> equals(u.getTransport()))
@@ -464,9 +496,16 @@ public class Unit implements Comparable<Unit>{
         return game.getUnit(unitData.getCarrier());
     }
 
+    /**
+     * @return a read-only view of the interceptors of this unit, it follows the game from frame to frame
+     */
     public Set<Unit> getInterceptors() {
         if (getType() != Protoss_Carrier && getType() != Hero_Gantrithor) {
-            return new HashSet<>();
+            return Collections.emptySet();
+        }
+        final UnitRelations relations = game.unitRelations();
+        if (relations != null) {
+            return relations.getInterceptors(id);
         }
         return game.getAllUnits().stream()
                 .filter(u -> equals(u.getCarrier()))
@@ -477,9 +516,16 @@ public class Unit implements Comparable<Unit>{
         return game.getUnit(unitData.getHatchery());
     }
 
+    /**
+     * @return a read-only view of the larva of this unit, it follows the game from frame to frame
+     */
     public Set<Unit> getLarva() {
         if (!getType().producesLarva()) {
-            return new HashSet<>();
+            return Collections.emptySet();
+        }
+        final UnitRelations relations = game.unitRelations();
+        if (relations != null) {
+            return relations.getLarva(id);
         }
         return game.getAllUnits().stream()
                 .filter(u -> equals(u.getHatchery()))
@@ -845,7 +891,15 @@ public class Unit implements Comparable<Unit>{
 
 
     public boolean issueCommand(final UnitCommand command) {
-        if (!canIssueCommand(command)) {
+        return issueCommand(command, true);
+    }
+
+    /**
+     * @param checkCanIssueCommand false to skip {@link #canIssueCommand(UnitCommand)} for a command the caller
+     *                             already knows to be valid
+     */
+    public boolean issueCommand(final UnitCommand command, final boolean checkCanIssueCommand) {
+        if (checkCanIssueCommand && !canIssueCommand(command)) {
             return false;
         }
         command.unit = this;
@@ -1381,7 +1435,23 @@ public class Unit implements Comparable<Unit>{
     }
 
 
+    // The state the checks depend on only changes from one frame to the next
+    private void updateCommandCache() {
+        final int frame = game.getFrameCount();
+        if (frame != commandCacheFrame) {
+            commandCacheFrame = frame;
+            canCommand = computeCanCommand();
+            checkedCommandTypes = 0;
+            allowedCommandTypes = 0;
+        }
+    }
+
     public boolean canCommand() {
+        updateCommandCache();
+        return canCommand;
+    }
+
+    private boolean computeCanCommand() {
         if (!exists() || !getPlayer().equals(game.self())) {
             return false;
         }
@@ -1442,6 +1512,18 @@ public class Unit implements Comparable<Unit>{
         if (checkCommandibility && !canCommand()) {
             return false;
         }
+        updateCommandCache();
+        final long bit = 1L << ct.id;
+        if ((checkedCommandTypes & bit) == 0) {
+            if (computeCanIssueCommandType(ct)) {
+                allowedCommandTypes |= bit;
+            }
+            checkedCommandTypes |= bit;
+        }
+        return (allowedCommandTypes & bit) != 0;
+    }
+
+    private boolean computeCanIssueCommandType(final UnitCommandType ct) {
         switch (ct) {
             case Attack_Move:
                 return canAttackMove(false);
@@ -4133,7 +4215,11 @@ public class Unit implements Comparable<Unit>{
     void updateType(final int frame) {
         if (frame > lastTypeUpdate) {
             lastTypeUpdate = frame;
-            unitType = UnitType.idToEnum[unitData.getType()];
+            final UnitType type = UnitType.idToEnum[unitData.getType()];
+            if (type != unitType) {
+                unitType = type;
+                game.invalidateUnitGrid();
+            }
         }
     }
 
@@ -4147,7 +4233,12 @@ public class Unit implements Comparable<Unit>{
     void updatePosition(final int frame) {
         if (frame > lastPositionUpdate) {
             lastPositionUpdate = frame;
-            position = new Position(unitData.getPositionX(), unitData.getPositionY());
+            final int x = unitData.getPositionX();
+            final int y = unitData.getPositionY();
+            if (position == null || position.x != x || position.y != y) {
+                position = new Position(x, y);
+                game.invalidateUnitGrid();
+            }
         }
     }
 }
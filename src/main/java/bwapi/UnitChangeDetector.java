@@ -0,0 +1,73 @@
+package bwapi;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compares a fingerprint of every visible unit with the one of the previous frame and reports the differences to a
+ * {@link UnitChangeListener}. Units that did not change cost one comparison of two longs.
+ */
+class UnitChangeDetector {
+    // Fingerprint layout: hit points in bits 0-15, shields in 16-31, order in 32-39, target ID + 1 in 40-55
+    private static final long MASK_16 = 0xFFFF;
+    private static final long MASK_8 = 0xFF;
+
+    // Per unit ID, the fingerprint and the frame it was taken
+    private long[] fingerprints = new long[0];
+    private int[] frames = new int[0];
+    private int lastFrame = -1;
+
+    void reset() {
+        Arrays.fill(frames, -1);
+        lastFrame = -1;
+    }
+
+    static long fingerprint(final Unit unit) {
+        final Unit target = unit.getTarget();
+        return (unit.getHitPoints() & MASK_16) |
+                (unit.getShields() & MASK_16) << 16 |
+                (unit.getOrder().id & MASK_8) << 32 |
+                ((target == null ? 0 : target.getID() + 1) & MASK_16) << 40;
+    }
+
+    void update(final List<Unit> allUnits, final int frame, final Game game, final UnitChangeListener listener) {
+        for (int i = 0; i < allUnits.size(); i++) {
+            final Unit unit = allUnits.get(i);
+            final int id = unit.getID();
+            if (id >= frames.length) {
+                final int oldLength = frames.length;
+                final int length = Math.max(id + 1, oldLength * 2);
+                fingerprints = Arrays.copyOf(fingerprints, length);
+                frames = Arrays.copyOf(frames, length);
+                Arrays.fill(frames, oldLength, length, -1);
+            }
+            final long current = fingerprint(unit);
+            final long previous = fingerprints[id];
+            final boolean seen = lastFrame >= 0 && frames[id] == lastFrame;
+            fingerprints[id] = current;
+            frames[id] = frame;
+            if (!seen) {
+                continue;
+            }
+            if (current != previous) {
+                final int hitPointsLost = (int) (previous & MASK_16) - (int) (current & MASK_16);
+                final int shieldsLost = (int) (previous >>> 16 & MASK_16) - (int) (current >>> 16 & MASK_16);
+                if (hitPointsLost > 0 || shieldsLost > 0) {
+                    listener.onUnitDamaged(unit, Math.max(hitPointsLost, 0), Math.max(shieldsLost, 0));
+                }
+                final int previousOrder = (int) (previous >>> 32 & MASK_8);
+                if (previousOrder != (int) (current >>> 32 & MASK_8)) {
+                    listener.onOrderChanged(unit, Order.orders[previousOrder]);
+                }
+                final int previousTarget = (int) (previous >>> 40 & MASK_16) - 1;
+                if (previousTarget != (int) (current >>> 40 & MASK_16) - 1) {
+                    listener.onTargetChanged(unit, game.getUnit(previousTarget));
+                }
+            }
+            if (unit.isStartingAttack()) {
+                listener.onStartedAttack(unit);
+            }
+        }
+        lastFrame = frame;
+    }
+}
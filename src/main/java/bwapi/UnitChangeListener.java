@@ -0,0 +1,26 @@
+package bwapi;
+
+/**
+ * Receives the changes of the visible units between two frames, see {@link Game#setUnitChangeListener}.
+ * The changes of a frame are reported before {@link BWEventListener#onFrame()}, only for units that were visible in
+ * the previous frame as well.
+ */
+public interface UnitChangeListener {
+
+    /**
+     * The unit lost hit points or shields.
+     */
+    void onUnitDamaged(Unit unit, int hitPointsLost, int shieldsLost);
+
+    void onOrderChanged(Unit unit, Order previousOrder);
+
+    /**
+     * @param previousTarget the target of the previous frame, or null if it had none
+     */
+    void onTargetChanged(Unit unit, Unit previousTarget);
+
+    /**
+     * The unit started an attack this frame, see {@link Unit#isStartingAttack()}.
+     */
+    void onStartedAttack(Unit unit);
+}
@@ -0,0 +1,197 @@
+package bwapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Buckets the units of a frame by position in cells of 128x128 pixels, for the spatial queries of {@link Game}.
+ * The cells are stored compressed: the ranks of the units of cell i are entries[cellStart[i]..cellStart[i + 1]).
+ * A rank is the index of the unit in {@link Game#getAllUnits()}; results are sorted by rank, so they come out in
+ * the same order as a linear scan over all units.
+ */
+class UnitGrid {
+    private static final int CELL_SHIFT = 7;
+
+    private int columns;
+    private int rows;
+    private int[] cellStart = new int[1];
+    private int[] cellNext = new int[0];
+    private int[] entries = new int[0];
+    private int[] cells = new int[0];
+
+    // Per rank, as of the last build
+    private Unit[] units = new Unit[0];
+    private int[] x = new int[0];
+    private int[] y = new int[0];
+    private int[] left = new int[0];
+    private int[] top = new int[0];
+    private int[] right = new int[0];
+    private int[] bottom = new int[0];
+    private int[] tileX = new int[0];
+    private int[] tileY = new int[0];
+    private int size;
+
+    // Upper bounds of how far the bounding box and the tile position of a unit can be from its position
+    private int maxDimension;
+    private int maxHalfTile;
+    // Units for which TilePosition is computed from a negative offset, see Unit.getTilePosition
+    private int[] edgeUnits = new int[0];
+    private int edgeUnitCount;
+
+    void build(final List<Unit> allUnits, final int mapPixelWidth, final int mapPixelHeight) {
+        columns = Math.max(1, (mapPixelWidth + (1 << CELL_SHIFT) - 1) >> CELL_SHIFT);
+        rows = Math.max(1, (mapPixelHeight + (1 << CELL_SHIFT) - 1) >> CELL_SHIFT);
+        size = allUnits.size();
+        if (units.length < size) {
+            final int capacity = Math.max(size, units.length * 2);
+            units = new Unit[capacity];
+            x = new int[capacity];
+            y = new int[capacity];
+            left = new int[capacity];
+            top = new int[capacity];
+            right = new int[capacity];
+            bottom = new int[capacity];
+            tileX = new int[capacity];
+            tileY = new int[capacity];
+            entries = new int[capacity];
+            cells = new int[capacity];
+            edgeUnits = new int[capacity];
+        } else {
+            Arrays.fill(units, size, units.length, null);
+        }
+        if (cellStart.length < columns * rows + 1) {
+            cellStart = new int[columns * rows + 1];
+            cellNext = new int[columns * rows];
+        } else {
+            Arrays.fill(cellStart, 0);
+        }
+
+        maxDimension = 0;
+        maxHalfTile = 0;
+        edgeUnitCount = 0;
+        for (int rank = 0; rank < size; rank++) {
+            final Unit unit = allUnits.get(rank);
+            final Position position = unit.getPosition();
+            final UnitType type = unit.getType();
+            units[rank] = unit;
+            x[rank] = position.x;
+            y[rank] = position.y;
+            left[rank] = position.x - type.dimensionLeft();
+            top[rank] = position.y - type.dimensionUp();
+            right[rank] = position.x + type.dimensionRight();
+            bottom[rank] = position.y + type.dimensionDown();
+            final int halfTileWidth = type.tileWidth() * 32 / 2;
+            final int halfTileHeight = type.tileHeight() * 32 / 2;
+            tileX[rank] = Math.abs(position.x - halfTileWidth) / TilePosition.SIZE_IN_PIXELS;
+            tileY[rank] = Math.abs(position.y - halfTileHeight) / TilePosition.SIZE_IN_PIXELS;
+            if (position.x < halfTileWidth || position.y < halfTileHeight) {
+                edgeUnits[edgeUnitCount++] = rank;
+            }
+            maxDimension = Math.max(maxDimension, Math.max(Math.max(type.dimensionLeft(), type.dimensionRight()),
+                    Math.max(type.dimensionUp(), type.dimensionDown())));
+            maxHalfTile = Math.max(maxHalfTile, Math.max(halfTileWidth, halfTileHeight));
+
+            final int cell = row(position.y) * columns + column(position.x);
+            cells[rank] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        System.arraycopy(cellStart, 0, cellNext, 0, columns * rows);
+        for (int rank = 0; rank < size; rank++) {
+            entries[cellNext[cells[rank]]++] = rank;
+        }
+    }
+
+    private int column(final int px) {
+        return Math.min(columns - 1, Math.max(0, px >> CELL_SHIFT));
+    }
+
+    private int row(final int py) {
+        return Math.min(rows - 1, Math.max(0, py >> CELL_SHIFT));
+    }
+
+    List<Unit> getUnitsInRectangle(final int qLeft, final int qTop, final int qRight, final int qBottom, final UnitFilter filter) {
+        final int[] found = candidates(qLeft - maxDimension, qTop - maxDimension, qRight + maxDimension, qBottom + maxDimension, 0);
+        int count = 0;
+        for (final int rank : found) {
+            if (rank >= 0 && qLeft <= right[rank] && qTop <= bottom[rank] && qRight >= left[rank] && qBottom >= top[rank]) {
+                found[count++] = rank;
+            }
+        }
+        return result(found, count, filter);
+    }
+
+    List<Unit> getUnitsInRadius(final int centerX, final int centerY, final int radius, final UnitFilter filter) {
+        // The approximated distance is at least 0.92 times the larger of |dx| and |dy|
+        final int margin = Math.max(0, radius + (radius >> 3) + 1);
+        final int[] found = candidates(centerX - margin, centerY - margin, centerX + margin, centerY + margin, 0);
+        int count = 0;
+        for (final int rank : found) {
+            if (rank >= 0 && Position.getApproxDistance(centerX, centerY, x[rank], y[rank]) <= radius) {
+                found[count++] = rank;
+            }
+        }
+        return result(found, count, filter);
+    }
+
+    List<Unit> getUnitsOnTile(final int tx, final int ty) {
+        final int px = tx * TilePosition.SIZE_IN_PIXELS;
+        final int py = ty * TilePosition.SIZE_IN_PIXELS;
+        final int[] found = candidates(px, py, px + TilePosition.SIZE_IN_PIXELS - 1 + maxHalfTile,
+                py + TilePosition.SIZE_IN_PIXELS - 1 + maxHalfTile, edgeUnitCount);
+        System.arraycopy(edgeUnits, 0, found, found.length - edgeUnitCount, edgeUnitCount);
+        Arrays.sort(found);
+        int count = 0;
+        int previous = -1;
+        for (final int rank : found) {
+            if (rank >= 0 && rank != previous && tileX[rank] == tx && tileY[rank] == ty) {
+                found[count++] = rank;
+            }
+            previous = rank;
+        }
+        return result(found, count, u -> true);
+    }
+
+    // Ranks of all units in the cells overlapping the area, followed by extra free slots filled with -1
+    private int[] candidates(final int areaLeft, final int areaTop, final int areaRight, final int areaBottom, final int extra) {
+        if (areaLeft > areaRight || areaTop > areaBottom) {
+            final int[] found = new int[extra];
+            Arrays.fill(found, -1);
+            return found;
+        }
+        final int column0 = column(areaLeft);
+        final int column1 = column(areaRight);
+        final int row0 = row(areaTop);
+        final int row1 = row(areaBottom);
+        int total = extra;
+        for (int row = row0; row <= row1; row++) {
+            total += cellStart[row * columns + column1 + 1] - cellStart[row * columns + column0];
+        }
+        final int[] found = new int[total];
+        int count = 0;
+        for (int row = row0; row <= row1; row++) {
+            // The cells of a row are consecutive
+            final int from = cellStart[row * columns + column0];
+            final int length = cellStart[row * columns + column1 + 1] - from;
+            System.arraycopy(entries, from, found, count, length);
+            count += length;
+        }
+        Arrays.fill(found, count, total, -1);
+        return found;
+    }
+
+    private List<Unit> result(final int[] ranks, final int count, final UnitFilter filter) {
+        Arrays.sort(ranks, 0, count);
+        final List<Unit> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Unit unit = units[ranks[i]];
+            if (filter.operation(unit)) {
+                result.add(unit);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,158 @@
+package bwapi;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Position, hit points and shields of the visible units over the last frames, see
+ * {@link Game#setUnitHistoryDepth(int)}. Stored as one circular buffer per unit ID in flat arrays that are reused
+ * every frame, so keeping the history does not produce garbage.
+ * <p>
+ * framesAgo counts from the current frame, 0 is the current frame. Frames in which the unit was not visible have no
+ * record.
+ */
+public final class UnitHistory {
+    private final int depth;
+    // Per unit ID, depth slots each, indexed by frame % depth
+    private int[] frames = new int[0];
+    private int[] x = new int[0];
+    private int[] y = new int[0];
+    private int[] hitPoints = new int[0];
+    private int[] shields = new int[0];
+    private int frame = -1;
+
+    UnitHistory(final int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive: " + depth);
+        }
+        this.depth = depth;
+    }
+
+    /**
+     * @return how many frames are kept
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    void record(final List<Unit> allUnits, final int frame) {
+        this.frame = frame;
+        final int slot = frame % depth;
+        for (int i = 0; i < allUnits.size(); i++) {
+            final Unit unit = allUnits.get(i);
+            final int id = unit.getID();
+            if ((id + 1) * depth > frames.length) {
+                final int oldLength = frames.length;
+                final int length = Math.max((id + 1) * depth, oldLength * 2);
+                frames = Arrays.copyOf(frames, length);
+                Arrays.fill(frames, oldLength, length, -1);
+                x = Arrays.copyOf(x, length);
+                y = Arrays.copyOf(y, length);
+                hitPoints = Arrays.copyOf(hitPoints, length);
+                shields = Arrays.copyOf(shields, length);
+            }
+            final int index = id * depth + slot;
+            final Position position = unit.getPosition();
+            frames[index] = frame;
+            x[index] = position.x;
+            y[index] = position.y;
+            hitPoints[index] = unit.getHitPoints();
+            shields[index] = unit.getShields();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(frames, -1);
+        frame = -1;
+    }
+
+    // The index of the record, or -1 if there is none
+    private int index(final Unit unit, final int framesAgo) {
+        if (framesAgo < 0 || framesAgo >= depth || framesAgo > frame) {
+            return -1;
+        }
+        final int index = unit.getID() * depth + (frame - framesAgo) % depth;
+        return index < frames.length && frames[index] == frame - framesAgo ? index : -1;
+    }
+
+    public boolean hasRecord(final Unit unit, final int framesAgo) {
+        return index(unit, framesAgo) >= 0;
+    }
+
+    /**
+     * @return the position of the unit at that frame, or null if there is no record
+     */
+    public Position getPositionAt(final Unit unit, final int framesAgo) {
+        final int index = index(unit, framesAgo);
+        return index < 0 ? null : new Position(x[index], y[index]);
+    }
+
+    /**
+     * @return the x coordinate of the unit at that frame, or {@link Position#None} if there is no record
+     */
+    public int getX(final Unit unit, final int framesAgo) {
+        final int index = index(unit, framesAgo);
+        return index < 0 ? Position.None.x : x[index];
+    }
+
+    public int getY(final Unit unit, final int framesAgo) {
+        final int index = index(unit, framesAgo);
+        return index < 0 ? Position.None.y : y[index];
+    }
+
+    /**
+     * @return the hit points of the unit at that frame, or -1 if there is no record
+     */
+    public int getHitPoints(final Unit unit, final int framesAgo) {
+        final int index = index(unit, framesAgo);
+        return index < 0 ? -1 : hitPoints[index];
+    }
+
+    public int getShields(final Unit unit, final int framesAgo) {
+        final int index = index(unit, framesAgo);
+        return index < 0 ? -1 : shields[index];
+    }
+
+    // framesAgo of the oldest record within the window that is not interrupted by a frame without record
+    private int oldest(final Unit unit, final int frames) {
+        int oldest = -1;
+        for (int framesAgo = 0; framesAgo <= Math.min(frames, depth - 1); framesAgo++) {
+            if (index(unit, framesAgo) < 0) {
+                break;
+            }
+            oldest = framesAgo;
+        }
+        return oldest;
+    }
+
+    /**
+     * @return the average horizontal speed in pixels per frame over the last frames, 0 without records
+     */
+    public double getVelocityX(final Unit unit, final int frames) {
+        final int oldest = oldest(unit, frames);
+        return oldest <= 0 ? 0 : (double) (getX(unit, 0) - getX(unit, oldest)) / oldest;
+    }
+
+    public double getVelocityY(final Unit unit, final int frames) {
+        final int oldest = oldest(unit, frames);
+        return oldest <= 0 ? 0 : (double) (getY(unit, 0) - getY(unit, oldest)) / oldest;
+    }
+
+    /**
+     * @return the hit points and shields the unit lost per frame over the last frames, regeneration and healing are
+     * not subtracted
+     */
+    public double getDamageTakenPerFrame(final Unit unit, final int frames) {
+        final int oldest = oldest(unit, frames);
+        if (oldest <= 0) {
+            return 0;
+        }
+        int lost = 0;
+        for (int framesAgo = oldest; framesAgo > 0; framesAgo--) {
+            final int before = index(unit, framesAgo);
+            final int after = index(unit, framesAgo - 1);
+            lost += Math.max(0, hitPoints[before] - hitPoints[after]) + Math.max(0, shields[before] - shields[after]);
+        }
+        return (double) lost / oldest;
+    }
+}
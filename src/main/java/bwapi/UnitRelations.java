@@ -0,0 +1,158 @@
+package bwapi;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Reverse index of the hatchery, transport and carrier of all units of a frame, so that the larva, the loaded
+ * units and the interceptors of a unit are found without scanning all units. The sets are read-only views that are
+ * reused from frame to frame, so looking them up does not allocate.
+ */
+class UnitRelations {
+    private final Relation larva = new Relation();
+    private final Relation loadedUnits = new Relation();
+    private final Relation interceptors = new Relation();
+
+    void build(final List<Unit> allUnits) {
+        larva.clear();
+        loadedUnits.clear();
+        interceptors.clear();
+        for (int i = 0; i < allUnits.size(); i++) {
+            final Unit unit = allUnits.get(i);
+            larva.add(unit.getHatchery(), unit);
+            loadedUnits.add(unit.getTransport(), unit);
+            interceptors.add(unit.getCarrier(), unit);
+        }
+    }
+
+    Set<Unit> getLarva(final int unitID) {
+        return larva.get(unitID);
+    }
+
+    Set<Unit> getLoadedUnits(final int unitID) {
+        return loadedUnits.get(unitID);
+    }
+
+    Set<Unit> getInterceptors(final int unitID) {
+        return interceptors.get(unitID);
+    }
+
+    /**
+     * Children per parent ID as linked lists in flat arrays, reused from frame to frame. Every parent has one
+     * read-only set view of its children, created on first use.
+     */
+    private static class Relation {
+        private int[] head = new int[0];
+        private int[] sizes = new int[0];
+        private ChildSet[] views = new ChildSet[0];
+        private int[] next = new int[16];
+        private Unit[] children = new Unit[16];
+        private int count;
+        private int[] parents = new int[16];
+        private int parentCount;
+
+        void clear() {
+            for (int i = 0; i < parentCount; i++) {
+                head[parents[i]] = -1;
+                sizes[parents[i]] = 0;
+            }
+            Arrays.fill(children, 0, count, null);
+            count = 0;
+            parentCount = 0;
+        }
+
+        private void ensureParent(final int id) {
+            if (id >= head.length) {
+                final int oldLength = head.length;
+                final int length = Math.max(id + 1, oldLength * 2);
+                head = Arrays.copyOf(head, length);
+                Arrays.fill(head, oldLength, length, -1);
+                sizes = Arrays.copyOf(sizes, length);
+                views = Arrays.copyOf(views, length);
+            }
+        }
+
+        void add(final Unit parent, final Unit child) {
+            if (parent == null) {
+                return;
+            }
+            final int id = parent.getID();
+            ensureParent(id);
+            if (count == children.length) {
+                next = Arrays.copyOf(next, count * 2);
+                children = Arrays.copyOf(children, count * 2);
+            }
+            if (head[id] < 0) {
+                if (parentCount == parents.length) {
+                    parents = Arrays.copyOf(parents, parentCount * 2);
+                }
+                parents[parentCount++] = id;
+            }
+            children[count] = child;
+            next[count] = head[id];
+            head[id] = count++;
+            sizes[id]++;
+        }
+
+        Set<Unit> get(final int id) {
+            if (id < 0) {
+                return Collections.emptySet();
+            }
+            ensureParent(id);
+            if (views[id] == null) {
+                views[id] = new ChildSet(id);
+            }
+            return views[id];
+        }
+
+        private class ChildSet extends AbstractSet<Unit> {
+            private final int id;
+
+            ChildSet(final int id) {
+                this.id = id;
+            }
+
+            @Override
+            public int size() {
+                return sizes[id];
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                for (int i = head[id]; i >= 0; i = next[i]) {
+                    if (children[i].equals(o)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public Iterator<Unit> iterator() {
+                return new Iterator<Unit>() {
+                    private int current = head[id];
+
+                    @Override
+                    public boolean hasNext() {
+                        return current >= 0;
+                    }
+
+                    @Override
+                    public Unit next() {
+                        if (current < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        final Unit unit = children[current];
+                        current = next[current];
+                        return unit;
+                    }
+                };
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package bwapi;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Snapshot of the most used values of all units of the current frame, stored as one primitive array per value.
+ * Row i of every column belongs to the unit at index i of {@link Game#getAllUnits()}, so a loop over a column reads
+ * contiguous memory instead of going through a Unit getter for every unit.
+ * <p>
+ * The table is rebuilt in place on the first {@link Game#getUnitTable()} call of every frame. The column arrays can
+ * be longer than {@link #size()}, only the first size() entries are valid, and they must not be modified.
+ */
+public final class UnitTable {
+    private Unit[] units = new Unit[0];
+    private int[] rows = new int[0];
+    private int[] ids = new int[0];
+    private int[] x = new int[0];
+    private int[] y = new int[0];
+    private int[] hitPoints = new int[0];
+    private int[] shields = new int[0];
+    private int[] energy = new int[0];
+    private int[] typeIds = new int[0];
+    private int[] playerIds = new int[0];
+    private int[] orderIds = new int[0];
+    private int[] groundWeaponCooldowns = new int[0];
+    private int[] airWeaponCooldowns = new int[0];
+    private int size;
+
+    UnitTable() {
+    }
+
+    void build(final List<Unit> allUnits) {
+        Arrays.fill(rows, -1);
+        size = allUnits.size();
+        if (units.length < size) {
+            final int capacity = Math.max(size, units.length * 2);
+            units = new Unit[capacity];
+            ids = new int[capacity];
+            x = new int[capacity];
+            y = new int[capacity];
+            hitPoints = new int[capacity];
+            shields = new int[capacity];
+            energy = new int[capacity];
+            typeIds = new int[capacity];
+            playerIds = new int[capacity];
+            orderIds = new int[capacity];
+            groundWeaponCooldowns = new int[capacity];
+            airWeaponCooldowns = new int[capacity];
+        } else {
+            Arrays.fill(units, size, units.length, null);
+        }
+        for (int row = 0; row < size; row++) {
+            final Unit unit = allUnits.get(row);
+            final int id = unit.getID();
+            if (id >= rows.length) {
+                final int oldLength = rows.length;
+                rows = Arrays.copyOf(rows, Math.max(id + 1, oldLength * 2));
+                Arrays.fill(rows, oldLength, rows.length, -1);
+            }
+            rows[id] = row;
+
+            final Position position = unit.getPosition();
+            final Player player = unit.getPlayer();
+            units[row] = unit;
+            ids[row] = id;
+            x[row] = position.x;
+            y[row] = position.y;
+            hitPoints[row] = unit.getHitPoints();
+            shields[row] = unit.getShields();
+            energy[row] = unit.getEnergy();
+            typeIds[row] = unit.getType().id;
+            playerIds[row] = player == null ? -1 : player.getID();
+            orderIds[row] = unit.getOrder().id;
+            groundWeaponCooldowns[row] = unit.getGroundWeaponCooldown();
+            airWeaponCooldowns[row] = unit.getAirWeaponCooldown();
+        }
+    }
+
+    /**
+     * @return the number of valid rows
+     */
+    public int size() {
+        return size;
+    }
+
+    public Unit getUnit(final int row) {
+        return units[row];
+    }
+
+    /**
+     * @return the row of the unit, or -1 if it is not in this frame's table
+     */
+    public int getRow(final Unit unit) {
+        final int id = unit.getID();
+        return id >= 0 && id < rows.length ? rows[id] : -1;
+    }
+
+    public int[] getIDs() {
+        return ids;
+    }
+
+    public int[] getX() {
+        return x;
+    }
+
+    public int[] getY() {
+        return y;
+    }
+
+    public int[] getHitPoints() {
+        return hitPoints;
+    }
+
+    public int[] getShields() {
+        return shields;
+    }
+
+    public int[] getEnergy() {
+        return energy;
+    }
+
+    /**
+     * @return the {@link UnitType} ids, compare with {@link #getTypeID(UnitType)}
+     */
+    public int[] getTypeIDs() {
+        return typeIds;
+    }
+
+    /**
+     * @return the {@link Player#getID()} of the owners, -1 if unknown
+     */
+    public int[] getPlayerIDs() {
+        return playerIds;
+    }
+
+    /**
+     * @return the {@link Order} ids, compare with {@link #getOrderID(Order)}
+     */
+    public int[] getOrderIDs() {
+        return orderIds;
+    }
+
+    public int[] getGroundWeaponCooldowns() {
+        return groundWeaponCooldowns;
+    }
+
+    public int[] getAirWeaponCooldowns() {
+        return airWeaponCooldowns;
+    }
+
+    public static int getTypeID(final UnitType type) {
+        return type.id;
+    }
+
+    public static int getOrderID(final Order order) {
+        return order.id;
+    }
+}
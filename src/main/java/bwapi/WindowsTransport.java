@@ -0,0 +1,54 @@
+package bwapi;
+
+import com.sun.jna.Native;
+import com.sun.jna.platform.win32.Kernel32;
+import com.sun.jna.win32.W32APIOptions;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * Connects to BWAPI through the Windows file mappings and the named pipe of the server.
+ */
+class WindowsTransport implements Client.Transport {
+    private static final int READ_WRITE = 0x1 | 0x2 | 0x4;
+
+    private RandomAccessFile pipe;
+
+    private static ByteBuffer map(final String name, final int size) {
+        return Kernel32.INSTANCE.MapViewOfFile(MappingKernel.INSTANCE.OpenFileMapping(READ_WRITE, false, name), READ_WRITE,
+                0, 0, size).getByteBuffer(0, size);
+    }
+
+    @Override
+    public ByteBuffer mapGameTable(final int size) {
+        return map("Local\\bwapi_shared_memory_game_list", size);
+    }
+
+    @Override
+    public ByteBuffer mapSharedMemory(final int procID, final int size) {
+        return map("Local\\bwapi_shared_memory_" + procID, size);
+    }
+
+    @Override
+    public void connectPipe(final int procID) throws IOException {
+        pipe = new RandomAccessFile("\\\\.\\pipe\\bwapi_pipe_" + procID, "rw");
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return pipe.readByte();
+    }
+
+    @Override
+    public void writeByte(final byte code) throws IOException {
+        pipe.writeByte(code);
+    }
+
+    interface MappingKernel extends Kernel32 {
+        MappingKernel INSTANCE = Native.load(MappingKernel.class, W32APIOptions.DEFAULT_OPTIONS);
+
+        HANDLE OpenFileMapping(int desiredAccess, boolean inherit, String name);
+    }
+}
@@ -1,9 +1,9 @@
 package bwapi;
 
 import sun.misc.Unsafe;
-import sun.nio.ch.DirectBuffer;
 
 import java.lang.reflect.Field;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
@@ -13,6 +13,7 @@ import java.nio.charset.StandardCharsets;
 /**
  * Wrapper around ByteBuffer that makes use of sun.misc.Unsafe if available.
  * If not available it will fall back on using the ByteBuffer itself.
+ * On JDK 9+ the multi-release jar uses the VarHandle version in src/main/java9 instead.
  */
 class WrappedBuffer {
     private static final Charset charSet = StandardCharsets.ISO_8859_1;
@@ -25,7 +26,17 @@ class WrappedBuffer {
     WrappedBuffer(final ByteBuffer byteBuffer) {
         unsafe = getTheUnsafe();
         buffer = byteBuffer;
-        address = ((DirectBuffer) buffer).address();
+        address = getAddress(unsafe, buffer);
+    }
+
+    // Buffer.address is read directly, as sun.nio.ch.DirectBuffer is not exported on newer JDKs
+    private static long getAddress(final Unsafe unsafe, final ByteBuffer buffer) {
+        try {
+            return unsafe.getLong(buffer, unsafe.objectFieldOffset(Buffer.class.getDeclaredField("address")));
+        }
+        catch (final NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private static Unsafe getTheUnsafe() {
@@ -0,0 +1,84 @@
+package bwapi;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wrapper around ByteBuffer that uses VarHandles for the reads and writes, used on JDK 9+ instead of the
+ * sun.misc.Unsafe version.
+ */
+class WrappedBuffer {
+    private static final Charset charSet = StandardCharsets.ISO_8859_1;
+    private static final CharsetEncoder enc = charSet.newEncoder();
+
+    private static final VarHandle SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle DOUBLE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer buffer;
+
+    WrappedBuffer(final ByteBuffer byteBuffer) {
+        buffer = byteBuffer;
+    }
+
+    public byte getByte(final int offset) {
+        return buffer.get(offset);
+    }
+
+    public void putByte(final int offset, final byte value) {
+        buffer.put(offset, value);
+    }
+
+    public short getShort(final int offset) {
+        return (short) SHORT.get(buffer, offset);
+    }
+
+    public void putShort(final int offset, final short value) {
+        SHORT.set(buffer, offset, value);
+    }
+
+    public int getInt(final int offset) {
+        return (int) INT.get(buffer, offset);
+    }
+
+    public void putInt(final int offset, final int value) {
+        INT.set(buffer, offset, value);
+    }
+
+    public double getDouble(final int offset) {
+        return (double) DOUBLE.get(buffer, offset);
+    }
+
+    public void putDouble(final int offset, final double value) {
+        DOUBLE.set(buffer, offset, value);
+    }
+
+    public String getString(final int offset, final int maxLen) {
+        final byte[] buf = new byte[maxLen];
+
+        final ByteBuffer source = buffer.duplicate();
+        source.position(offset);
+        source.get(buf);
+
+        int len = 0;
+        while (len < maxLen && buf[len] != 0) {
+            ++len;
+        }
+        return new String(buf, 0, len, charSet);
+    }
+
+    public void putString(final int offset, final int maxLen, final String string) {
+        if (string.length() + 1 >= maxLen) {
+            throw new StringIndexOutOfBoundsException();
+        }
+        buffer.position(offset);
+        enc.encode(CharBuffer.wrap(string), buffer, true);
+        buffer.put((byte) 0);
+    }
+}
@@ -0,0 +1,148 @@
+package bwapi;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BWClientTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void playsMatchAgainstLocalServer() throws Exception {
+        Assume.assumeFalse(System.getProperty("os.name", "").startsWith("Windows"));
+        final Path directory = folder.getRoot().toPath();
+        final String previous = System.getProperty("bwapi.shm.dir");
+        System.setProperty("bwapi.shm.dir", directory.toString());
+        try {
+            final LocalServer server = new LocalServer(directory, 100);
+            server.start();
+
+            final StringBuilder events = new StringBuilder();
+            final int[] frames = new int[1];
+            final BWClient client = new BWClient(new DefaultBWListener() {
+                @Override
+                public void onStart() {
+                    events.append("start ");
+                }
+
+                @Override
+                public void onFrame() {
+                    frames[0]++;
+                }
+
+                @Override
+                public void onEnd(final boolean isWinner) {
+                    events.append("end ").append(isWinner);
+                }
+            });
+            client.startGame();
+            server.join();
+
+            assertThat(events.toString()).isEqualTo("start end true");
+            assertThat(frames[0]).isEqualTo(100);
+            assertThat(client.getGame().getFrameCount()).isEqualTo(99);
+            assertThat(client.getGame().self().getName()).isEqualTo("Self");
+            assertThat(client.getGame().mapWidth()).isEqualTo(64);
+        } finally {
+            if (previous == null) {
+                System.clearProperty("bwapi.shm.dir");
+            } else {
+                System.setProperty("bwapi.shm.dir", previous);
+            }
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void serverShutsDownAfterMatch() throws Exception {
+        Assume.assumeFalse(System.getProperty("os.name", "").startsWith("Windows"));
+        final Path directory = folder.getRoot().toPath();
+        final String previous = System.getProperty("bwapi.shm.dir");
+        System.setProperty("bwapi.shm.dir", directory.toString());
+        try {
+            final LocalServer server = new LocalServer(directory, 10);
+            server.start();
+            new BWClient(new DefaultBWListener()).startGame();
+            // Returns only once the server stopped serving and closed
+            server.join();
+
+            // The game table slot is free again and the memory and pipes are gone
+            final byte[] table = Files.readAllBytes(directory.resolve(PosixTransport.GAME_TABLE));
+            for (final byte b : table) {
+                assertThat(b).isEqualTo((byte) 0);
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.map(f -> f.getFileName().toString())).containsExactly(PosixTransport.GAME_TABLE);
+            }
+        } finally {
+            if (previous == null) {
+                System.clearProperty("bwapi.shm.dir");
+            } else {
+                System.setProperty("bwapi.shm.dir", previous);
+            }
+        }
+    }
+
+    @Test
+    public void asyncBotSeesEveryFrameInOrder() throws Exception {
+        Assume.assumeFalse(System.getProperty("os.name", "").startsWith("Windows"));
+        final Path directory = folder.getRoot().toPath();
+        final String previous = System.getProperty("bwapi.shm.dir");
+        System.setProperty("bwapi.shm.dir", directory.toString());
+        try {
+            final LocalServer server = new LocalServer(directory, 100);
+            server.start();
+
+            final List<Integer> frames = new ArrayList<>();
+            final boolean[] ended = new boolean[1];
+            final BWClient[] client = new BWClient[1];
+            client[0] = new BWClient(new DefaultBWListener() {
+                @Override
+                public void onFrame() {
+                    final Game game = client[0].getGame();
+                    frames.add(game.getFrameCount());
+                    game.drawTextScreen(0, 0, "frame " + game.getFrameCount());
+                    if (frames.size() % 10 == 0) {
+                        try {
+                            Thread.sleep(20);
+                        } catch (final InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                }
+
+                @Override
+                public void onEnd(final boolean isWinner) {
+                    ended[0] = true;
+                }
+            });
+            final BWClientConfiguration configuration = new BWClientConfiguration();
+            configuration.async = true;
+            configuration.maxFrameDurationMs = 5;
+            configuration.asyncFrameBufferCapacity = 4;
+            client[0].startGame(configuration);
+            server.join();
+
+            assertThat(ended[0]).isTrue();
+            assertThat(frames).hasSize(100);
+            for (int i = 0; i < frames.size(); i++) {
+                assertThat(frames.get(i)).isEqualTo(i);
+            }
+        } finally {
+            if (previous == null) {
+                System.clearProperty("bwapi.shm.dir");
+            } else {
+                System.setProperty("bwapi.shm.dir", previous);
+            }
+        }
+    }
+}
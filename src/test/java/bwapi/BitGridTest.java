@@ -0,0 +1,50 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BitGridTest {
+    // Not a multiple of 64, so rows share words
+    private static final int WIDTH = 37;
+    private static final int HEIGHT = 23;
+
+    private final Random random = new Random(5);
+    private final BitGrid grid = new BitGrid(WIDTH, HEIGHT);
+    private final boolean[][] cells = new boolean[WIDTH][HEIGHT];
+
+    private void assertMatchesCells() {
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertThat(grid.get(x, y)).as("(%d, %d)", x, y).isEqualTo(cells[x][y]);
+            }
+        }
+    }
+
+    @Test
+    public void matchesABooleanGrid() {
+        assertMatchesCells();
+        for (int i = 0; i < 2000; i++) {
+            final int x = random.nextInt(WIDTH);
+            final int y = random.nextInt(HEIGHT);
+            final boolean value = random.nextBoolean();
+            if (random.nextBoolean()) {
+                grid.set(x, y, value);
+            } else {
+                assertThat(grid.update(x, y, value)).as("(%d, %d)", x, y).isEqualTo(cells[x][y] != value);
+            }
+            cells[x][y] = value;
+        }
+        assertMatchesCells();
+
+        grid.clear();
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                cells[x][y] = false;
+            }
+        }
+        assertMatchesCells();
+    }
+}
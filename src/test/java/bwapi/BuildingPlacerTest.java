@@ -0,0 +1,189 @@
+package bwapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Places buildings on a synthetic 64x64 map of buildable tiles with a single region.
+ */
+public class BuildingPlacerTest {
+    private final Game game = mock(Game.class, withSettings().stubOnly());
+    private final Player self = mock(Player.class, withSettings().stubOnly());
+    private final Region region = mock(Region.class, withSettings().stubOnly());
+    private final Set<Unit> units = new LinkedHashSet<>();
+    // The tile positions and types of the units, without going through the mocks
+    private final List<TilePosition> unitTiles = new ArrayList<>();
+    private final List<UnitType> unitTypes = new ArrayList<>();
+    // Tiles that can not be built on, in addition to the ones covered by units
+    private final boolean[][] blocked = new boolean[64][64];
+
+    @Before
+    public void setup() {
+        given(game.mapWidth()).willReturn(64);
+        given(game.mapHeight()).willReturn(64);
+        given(game.self()).willReturn(self);
+        given(self.getUnits()).willReturn(units);
+        given(game.getNeutralUnits()).willReturn(Collections.emptyList());
+        given(game.getRegionAt(any(Position.class))).willReturn(region);
+        given(game.getRegionAt(anyInt(), anyInt())).willReturn(region);
+        given(game.canBuildHere(anyInt(), anyInt(), any(UnitType.class))).willAnswer(i ->
+                canBuildHere(new TilePosition(i.getArgument(0), i.getArgument(1)), i.getArgument(2)));
+    }
+
+    private boolean canBuildHere(final TilePosition position, final UnitType type) {
+        if (position.x < 0 || position.y < 0 || position.x + type.tileWidth() > 64 || position.y + type.tileHeight() > 64) {
+            return false;
+        }
+        for (int x = position.x; x < position.x + type.tileWidth(); x++) {
+            for (int y = position.y; y < position.y + type.tileHeight(); y++) {
+                if (blocked[x][y]) {
+                    return false;
+                }
+            }
+        }
+        for (int i = 0; i < unitTiles.size(); i++) {
+            if (overlap(position, type, unitTiles.get(i), unitTypes.get(i), 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Unit structure(final UnitType type, final int tileX, final int tileY) {
+        final Unit unit = mock(Unit.class, withSettings().stubOnly());
+        given(unit.exists()).willReturn(true);
+        given(unit.isCompleted()).willReturn(true);
+        given(unit.getType()).willReturn(type);
+        given(unit.getPlayer()).willReturn(self);
+        given(unit.getTilePosition()).willReturn(new TilePosition(tileX, tileY));
+        given(unit.getPosition()).willReturn(new Position(tileX * 32 + type.tileWidth() * 16, tileY * 32 + type.tileHeight() * 16));
+        units.add(unit);
+        unitTiles.add(new TilePosition(tileX, tileY));
+        unitTypes.add(type);
+        return unit;
+    }
+
+    // Whether the footprint of b comes closer than the padding to the footprint of a
+    private static boolean overlap(final TilePosition a, final UnitType aType, final TilePosition b, final UnitType bType, final int padding) {
+        return b.x < a.x + aType.tileWidth() + padding && a.x - padding < b.x + bType.tileWidth() &&
+                b.y < a.y + aType.tileHeight() + padding && a.y - padding < b.y + bType.tileHeight();
+    }
+
+    @Test
+    public void keepsPaddingAroundExistingStructures() {
+        final Unit gateway = structure(UnitType.Protoss_Gateway, 20, 20);
+        for (int x = 14; x <= 30; x += 2) {
+            for (int y = 14; y <= 30; y += 2) {
+                final TilePosition location = BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, new TilePosition(x, y), 16, game);
+
+                assertThat(location).isNotEqualTo(TilePosition.None);
+                assertThat(overlap(gateway.getTilePosition(), UnitType.Protoss_Gateway, location, UnitType.Protoss_Forge, 1))
+                        .as("forge at %s for desired position %d, %d", location, x, y)
+                        .isFalse();
+            }
+        }
+
+        // The gateway covers the tiles 20 to 23, the padding is on its right side too
+        final PlacementDistance distance = (fromX, fromY, toX, toY) -> Math.abs(toX - 24) + Math.abs(toY - 20);
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, new TilePosition(40, 10), 64, game, distance))
+                .isEqualTo(new TilePosition(25, 20));
+    }
+
+    @Test
+    public void placesBatchWithoutOverlap() {
+        final List<UnitType> types = Arrays.asList(UnitType.Protoss_Gateway, UnitType.Protoss_Gateway,
+                UnitType.Protoss_Pylon, UnitType.Protoss_Gateway, UnitType.Protoss_Forge, UnitType.Protoss_Pylon);
+
+        final List<TilePosition> locations = BuildingPlacer.getBuildLocations(types, new TilePosition(32, 32), 64, game, PlacementDistance.AIR);
+
+        assertThat(locations).hasSize(types.size()).doesNotContain(TilePosition.None);
+        for (int i = 0; i < types.size(); i++) {
+            for (int j = i + 1; j < types.size(); j++) {
+                assertThat(overlap(locations.get(i), types.get(i), locations.get(j), types.get(j), 1))
+                        .as("%s at %s and %s at %s", types.get(i), locations.get(i), types.get(j), locations.get(j))
+                        .isFalse();
+            }
+        }
+    }
+
+    @Test
+    public void ranksCandidatesWithTheDistance() {
+        final TilePosition desired = new TilePosition(32, 32);
+        final PlacementDistance distance = (fromX, fromY, toX, toY) -> Math.abs(toX - 45) + Math.abs(toY - 40);
+
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, desired, 64, game, distance))
+                .isEqualTo(new TilePosition(45, 40));
+    }
+
+    @Test
+    public void fallsBackToCandidatesOutOfRange() {
+        final TilePosition desired = new TilePosition(32, 32);
+        final PlacementDistance distance = (fromX, fromY, toX, toY) -> toX == 35 && toY == 36 ? 20 : 30;
+
+        // A range of 10 only searches the 10x10 tiles around the desired position
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, desired, 10, game, distance))
+                .isEqualTo(new TilePosition(35, 36));
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, desired, 10, game, (fromX, fromY, toX, toY) -> Integer.MAX_VALUE))
+                .isEqualTo(TilePosition.None);
+    }
+
+    @Test
+    public void keepsTurretsAndProductionAwayFromUnbuildableTiles() {
+        for (int y = 0; y < 64; y++) {
+            blocked[40][y] = true;
+        }
+        final TilePosition desired = new TilePosition(39, 10);
+        final PlacementDistance distance = (fromX, fromY, toX, toY) -> Math.abs(toX - 41) + Math.abs(toY - 20);
+
+        // A forge may touch the unbuildable column, a gateway keeps a tile of space
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, desired, 64, game, distance))
+                .isEqualTo(new TilePosition(41, 20));
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Gateway, desired, 64, game, distance))
+                .isEqualTo(new TilePosition(42, 20));
+    }
+
+    @Test
+    public void prefersTheGroundHeightOfTheDesiredPosition() {
+        given(game.getGroundHeight(anyInt(), anyInt())).willAnswer(i -> (int) i.getArgument(0) >= 40 ? 2 : 0);
+        given(game.getGroundHeight(any(TilePosition.class))).willAnswer(i -> ((TilePosition) i.getArgument(0)).x >= 40 ? 2 : 0);
+        final PlacementDistance distance = (fromX, fromY, toX, toY) -> Math.abs(toX - 30) + Math.abs(toY - 30);
+
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, new TilePosition(50, 20), 64, game, distance).x)
+                .isGreaterThanOrEqualTo(40);
+
+        // Without any tile of the same height the ground height is ignored
+        given(game.getGroundHeight(any(TilePosition.class))).willReturn(1);
+        assertThat(BuildingPlacer.getBuildLocation(UnitType.Protoss_Forge, new TilePosition(50, 20), 64, game, distance))
+                .isEqualTo(new TilePosition(30, 30));
+    }
+
+    @Test
+    public void measuresDistancesInTiles() {
+        final Region other = mock(Region.class);
+        given(region.getID()).willReturn(0);
+        given(other.getID()).willReturn(1);
+        given(region.getCenter()).willReturn(new Position(10 * 32 + 16, 10 * 32 + 16));
+        given(other.getCenter()).willReturn(new Position(20 * 32 + 16, 10 * 32 + 16));
+        given(game.getRegionAt(anyInt(), anyInt())).willAnswer(i -> (int) i.getArgument(0) < 15 * 32 ? region : other);
+        given(game.getRegionGroundDistance(region, other)).willReturn(10 * 32);
+        final PlacementDistance ground = PlacementDistance.ground(game);
+
+        assertThat(PlacementDistance.AIR.getDistance(10, 10, 13, 10)).isEqualTo(3);
+        assertThat(ground.getDistance(10, 10, 13, 10)).isEqualTo(3);
+        assertThat(ground.getDistance(10, 10, 22, 10)).isEqualTo(12);
+    }
+}
@@ -0,0 +1,107 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientTest {
+    private final ByteBuffer memory = ByteBuffer.allocateDirect(GameData.SIZE).order(ByteOrder.nativeOrder());
+    private final BlockingQueue<Byte> fromServer = new ArrayBlockingQueue<>(1);
+    private final CountDownLatch handedOver = new CountDownLatch(1);
+    private GameData data;
+    private Client client;
+
+    @Before
+    public void setup() throws Exception {
+        data = new ClientData(memory).new GameData(0);
+        data.setClient_version(10002);
+        fromServer.add((byte) 2);
+        client = new Client(new Client.Transport() {
+            @Override
+            public ByteBuffer mapGameTable(final int size) {
+                final ByteBuffer table = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+                table.putInt(0, 1);
+                return table;
+            }
+
+            @Override
+            public ByteBuffer mapSharedMemory(final int procID, final int size) {
+                return memory;
+            }
+
+            @Override
+            public void connectPipe(final int procID) {
+            }
+
+            @Override
+            public byte readByte() throws IOException {
+                try {
+                    return fromServer.take();
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            @Override
+            public void writeByte(final byte code) {
+                handedOver.countDown();
+            }
+        });
+    }
+
+    @Test(timeout = 10000)
+    public void copiesBufferedCommandsOnUpdate() throws Exception {
+        client.addCommand(CommandType.SetLocalSpeed, 0, 0);
+        client.addCommand(CommandType.Printf, client.addString("hello"), 0);
+        client.addShape(ShapeType.Text, CoordinateType.Map, 1, 2, 0, 0, client.addString("label"), 0, 0, false);
+        client.addUnitCommand(UnitCommandType.Move.id, 3, -1, 4, 5, 0);
+        // Something the server left
+        data.setStringCount(1);
+        assertThat(data.getCommandCount()).isZero();
+
+        fromServer.add((byte) 2);
+        client.update();
+
+        assertThat(data.getCommandCount()).isEqualTo(2);
+        assertThat(data.getCommands(1).getType()).isEqualTo(CommandType.Printf);
+        assertThat(data.getStrings(data.getCommands(1).getValue1())).isEqualTo("hello");
+        assertThat(data.getShapeCount()).isEqualTo(1);
+        assertThat(data.getStrings(data.getShapes(0).getExtra1())).isEqualTo("label");
+        assertThat(data.getUnitCommandCount()).isEqualTo(1);
+        assertThat(data.getUnitCommands(0).getUnitIndex()).isEqualTo(3);
+        assertThat(data.getUnitCommands(0).getX()).isEqualTo(4);
+    }
+
+    @Test(timeout = 10000)
+    public void botCanAddCommandsWhileWaitingForTheServer() throws Exception {
+        final Thread update = new Thread(() -> {
+            try {
+                client.update();
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+        });
+        update.start();
+        handedOver.await();
+
+        // The server still runs the frame, the client does not hold its lock meanwhile
+        client.addShape(ShapeType.Box, CoordinateType.Map, 0, 0, 10, 10, 0, 0, 0, false);
+        assertThat(data.getShapeCount()).isZero();
+
+        fromServer.add((byte) 2);
+        update.join();
+        fromServer.add((byte) 2);
+        client.update();
+        assertThat(data.getShapeCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static bwapi.UnitCommandType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CommandOptimizerTest {
+    private final CommandOptimizer optimizer = new CommandOptimizer();
+    private final List<String> written = new ArrayList<>();
+    private boolean carriedOut = true;
+
+    private void flush(final int frame) {
+        optimizer.flush(frame, (type, unit, target, x, y, extra) ->
+                        written.add(UnitCommandType.values()[type] + " " + unit + " " + target + " " + x + " " + y + " " + extra),
+                (unit, target, x, y) -> carriedOut);
+    }
+
+    @Test
+    public void laterOrderReplacesEarlierOrdersOfTheFrame() {
+        optimizer.add(Move.id, 1, -1, 10, 10, 0);
+        optimizer.add(Move.id, 1, -1, 20, 20, 1);
+        optimizer.add(Train.id, 1, -1, -1, -1, 7);
+        optimizer.add(Attack_Move.id, 1, -1, 30, 30, 0);
+        flush(0);
+
+        assertThat(written).containsExactly("Train 1 -1 -1 -1 7", "Attack_Move 1 -1 30 30 0");
+        assertThat(optimizer.getDroppedCommands()).isEqualTo(2);
+    }
+
+    @Test
+    public void repeatedOrderIsDroppedWithinWindow() {
+        optimizer.setRepeatWindow(2);
+        for (int frame = 0; frame < 5; frame++) {
+            optimizer.add(Move.id, 1, -1, 10, 10, 0);
+            flush(frame);
+        }
+
+        assertThat(written).hasSize(2);
+        assertThat(optimizer.getDroppedCommands()).isEqualTo(3);
+    }
+
+    @Test
+    public void repeatedOrderIsWrittenWhenTheUnitDoesSomethingElse() {
+        optimizer.setRepeatWindow(8);
+        optimizer.add(Move.id, 1, -1, 10, 10, 0);
+        flush(0);
+        carriedOut = false;
+        optimizer.add(Move.id, 1, -1, 10, 10, 0);
+        flush(1);
+
+        assertThat(written).containsExactly("Move 1 -1 10 10 0", "Move 1 -1 10 10 0");
+        assertThat(optimizer.getDroppedCommands()).isZero();
+    }
+
+    @Test
+    public void commandsAreWrittenInTheOrderTheyWereIssued() {
+        optimizer.add(Unload_All.id, 1, -1, -1, -1, 0);
+        optimizer.add(Move.id, 2, -1, 10, 10, 0);
+        optimizer.add(Train.id, 3, -1, -1, -1, 7);
+        optimizer.add(Set_Rally_Position.id, 3, -1, 20, 20, 0);
+        optimizer.add(Move.id, 1, -1, 10, 10, 0);
+        flush(0);
+
+        assertThat(written).containsExactly("Unload_All 1 -1 -1 -1 0", "Move 2 -1 10 10 0", "Train 3 -1 -1 -1 7",
+                "Set_Rally_Position 3 -1 20 20 0", "Move 1 -1 10 10 0");
+    }
+}
@@ -0,0 +1,74 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class DamageTableTest {
+    private static final UnitType[] TYPES = {
+            UnitType.Terran_Marine, UnitType.Terran_Firebat, UnitType.Terran_Siege_Tank_Tank_Mode, UnitType.Terran_Goliath,
+            UnitType.Protoss_Zealot, UnitType.Protoss_Dragoon, UnitType.Protoss_Scout, UnitType.Zerg_Mutalisk
+    };
+
+    private final GameData data = new ClientData(ByteBuffer.allocateDirect(GameData.SIZE).order(ByteOrder.nativeOrder()))
+            .new GameData(0);
+    private Game game;
+
+    private Game newGame() {
+        final Client client = mock(Client.class);
+        given(client.data()).willReturn(data);
+        final Game game = new Game(client);
+        game.init();
+        return game;
+    }
+
+    @Before
+    public void setup() {
+        data.setForceCount(1);
+        data.setPlayerCount(3);
+        data.setSelf(0);
+        data.setEnemy(1);
+        data.setNeutral(2);
+        game = newGame();
+    }
+
+    // Compares every cached value with the one of a new game, which has neither cached damage nor cached stats
+    private void assertSameAsComputed() {
+        final Game fresh = newGame();
+        for (final UnitType from : TYPES) {
+            for (final UnitType to : TYPES) {
+                assertThat(game.getDamageFrom(from, to, game.getPlayer(0), game.getPlayer(1)))
+                        .as("%s against %s", from, to)
+                        .isEqualTo(fresh.getDamageFrom(from, to, fresh.getPlayer(0), fresh.getPlayer(1)));
+            }
+        }
+    }
+
+    @Test
+    public void cachedDamageFollowsUpgrades() {
+        assertThat(game.getDamageFrom(UnitType.Terran_Marine, UnitType.Protoss_Zealot, game.getPlayer(0), game.getPlayer(1)))
+                .isEqualTo(5);
+        assertSameAsComputed();
+
+        data.setFrameCount(1);
+        data.getPlayers(0).setUpgradeLevel(UpgradeType.Terran_Infantry_Weapons.id, 2);
+        assertThat(game.getDamageFrom(UnitType.Terran_Marine, UnitType.Protoss_Zealot, game.getPlayer(0), game.getPlayer(1)))
+                .isEqualTo(7);
+        assertSameAsComputed();
+
+        data.setFrameCount(2);
+        data.getPlayers(1).setUpgradeLevel(UpgradeType.Protoss_Ground_Armor.id, 3);
+        data.getPlayers(1).setUpgradeLevel(UpgradeType.Protoss_Plasma_Shields.id, 1);
+        data.getPlayers(0).setUpgradeLevel(UpgradeType.Terran_Vehicle_Weapons.id, 1);
+        assertThat(game.getDamageFrom(UnitType.Terran_Marine, UnitType.Protoss_Zealot, game.getPlayer(0), game.getPlayer(1)))
+                .isEqualTo(4);
+        assertSameAsComputed();
+    }
+}
@@ -0,0 +1,95 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventBufferTest {
+    private final EventBuffer buffer = new EventBuffer(4);
+
+    @Test
+    public void cursorReadsEventsOfSubscribedTypes() {
+        final EventBuffer.Cursor all = buffer.newCursor();
+        final EventBuffer.Cursor units = buffer.newCursor(EventType.UnitCreate, EventType.UnitDestroy);
+        buffer.add(EventType.UnitCreate, 5, 1, 100, 200, 0);
+        buffer.add(EventType.MatchFrame, -1, -1, 32000, 32000, 0);
+        buffer.add(EventType.UnitDestroy, 5, 1, 110, 210, 1);
+
+        assertThat(units.next()).isTrue();
+        assertThat(units.getType()).isEqualTo(EventType.UnitCreate);
+        assertThat(units.getUnitID()).isEqualTo(5);
+        assertThat(units.getPlayerID()).isEqualTo(1);
+        assertThat(units.getX()).isEqualTo(100);
+        assertThat(units.getY()).isEqualTo(200);
+        assertThat(units.next()).isTrue();
+        assertThat(units.getType()).isEqualTo(EventType.UnitDestroy);
+        assertThat(units.getFrame()).isEqualTo(1);
+        assertThat(units.next()).isFalse();
+
+        int count = 0;
+        while (all.next()) {
+            count++;
+        }
+        assertThat(count).isEqualTo(3);
+    }
+
+    @Test
+    public void cursorReadsFrameAsBatch() {
+        final EventBuffer.Cursor cursor = buffer.newCursor();
+        buffer.add(EventType.UnitCreate, 1, 0, 0, 0, 0);
+        buffer.add(EventType.MatchFrame, -1, -1, 32000, 32000, 0);
+        buffer.add(EventType.UnitCreate, 2, 0, 0, 0, 1);
+
+        final List<Integer> frame = new ArrayList<>();
+        while (cursor.next(0)) {
+            frame.add(cursor.getUnitID());
+        }
+        assertThat(frame).containsExactly(1, -1);
+        assertThat(cursor.next(1)).isTrue();
+        assertThat(cursor.getUnitID()).isEqualTo(2);
+    }
+
+    @Test
+    public void slowCursorLosesOldestEvents() {
+        final EventBuffer.Cursor cursor = buffer.newCursor();
+        for (int i = 0; i < 6; i++) {
+            buffer.add(EventType.UnitShow, i, 0, 0, 0, i);
+        }
+
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.getUnitID()).isEqualTo(2);
+        assertThat(cursor.getLostEvents()).isEqualTo(2);
+        assertThat(buffer.getEventCount()).isEqualTo(6);
+    }
+
+    @Test(timeout = 20000)
+    public void concurrentReaderNeverSeesTornRecords() throws InterruptedException {
+        final int events = 200000;
+        final EventBuffer.Cursor cursor = buffer.newCursor();
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < events; i++) {
+                buffer.add(EventType.UnitShow, i, i, i, i, i);
+            }
+        });
+        writer.start();
+
+        long read = 0;
+        int last = -1;
+        while (read + cursor.getLostEvents() < events) {
+            if (cursor.next()) {
+                assertThat(cursor.getPlayerID()).isEqualTo(cursor.getUnitID());
+                assertThat(cursor.getX()).isEqualTo(cursor.getUnitID());
+                assertThat(cursor.getY()).isEqualTo(cursor.getUnitID());
+                assertThat(cursor.getFrame()).isEqualTo(cursor.getUnitID());
+                assertThat(cursor.getUnitID()).isGreaterThan(last);
+                last = cursor.getUnitID();
+                read++;
+            }
+        }
+        writer.join();
+        assertThat(read + cursor.getLostEvents()).isEqualTo(events);
+    }
+}
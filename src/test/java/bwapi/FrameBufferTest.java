@@ -0,0 +1,32 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class FrameBufferTest {
+    private final FrameBuffer frames = new FrameBuffer(ByteBuffer.allocateDirect(FrameBuffer.SNAPSHOT_SIZE), 1);
+
+    @Test(timeout = 10000)
+    public void failedBotWakesUpTheClient() throws Exception {
+        frames.enqueue();
+        final Error failure = new StackOverflowError();
+        final Thread bot = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException ignored) {
+            }
+            frames.fail(failure);
+        });
+        bot.start();
+
+        // The only slot is in use and nobody releases it
+        final Throwable thrown = catchThrowable(frames::enqueue);
+
+        assertThat(thrown).isInstanceOf(IllegalStateException.class).hasCause(failure);
+        assertThat(catchThrowable(() -> frames.awaitEmpty(Long.MAX_VALUE))).hasCause(failure);
+    }
+}
@@ -0,0 +1,62 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameLogTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replaysRecordedFrames() throws Exception {
+        final Path path = folder.getRoot().toPath().resolve("game.log");
+        final ByteBuffer memory = ByteBuffer.allocate(GameData.SIZE);
+        final Random random = new Random(42);
+        final int frames = 300;
+        final long[] expected = new long[frames];
+
+        final FrameRecorder recorder = new FrameRecorder(path, memory);
+        for (int frame = 0; frame < frames; frame++) {
+            for (int i = 0; i < 2000; i++) {
+                memory.put(random.nextInt(GameData.SIZE), (byte) random.nextInt());
+            }
+            // A change big enough to span several blocks
+            if (frame % 100 == 7) {
+                for (int i = 0; i < 3 << 20; i++) {
+                    memory.put(i, (byte) random.nextInt());
+                }
+            }
+            recorder.record();
+            expected[frame] = checksum(memory);
+        }
+        recorder.close();
+
+        final FrameLog log = new FrameLog(path);
+        assertEquals(frames, log.frames());
+        final ByteBuffer replay = ByteBuffer.allocateDirect(GameData.SIZE);
+        for (int frame = 0; log.hasNext(); frame++) {
+            log.next(replay);
+            assertEquals("frame " + frame, expected[frame], checksum(replay));
+        }
+    }
+
+    // Of everything except the part written by the client
+    private static long checksum(final ByteBuffer memory) {
+        final CRC32 crc = new CRC32();
+        final ByteBuffer source = memory.duplicate();
+        source.limit(FrameRecorder.CLIENT_AREA_START * 8);
+        crc.update(source);
+        source.limit(GameData.SIZE).position(FrameRecorder.CLIENT_AREA_END * 8);
+        crc.update(source);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,41 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FrameRecorderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test(timeout = 10000)
+    public void failingWriterDoesNotBlockRecording() throws Exception {
+        final Path path = folder.getRoot().toPath().resolve("game.log");
+        final FileChannel log = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        final FileChannel index = FileChannel.open(FrameRecorder.indexPath(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        final ByteBuffer memory = ByteBuffer.allocate(GameData.SIZE);
+        final FrameRecorder recorder = new FrameRecorder(log, index, memory);
+        // Every write of the writer fails from now on, like on a full disk
+        log.close();
+
+        assertThatThrownBy(() -> {
+            // Each frame fills a whole block, so the blocks in flight run out after a few frames
+            for (int frame = 0; frame < 100; frame++) {
+                for (int i = 0; i < 1 << 20; i += 8) {
+                    memory.putLong(i, frame * 31L + i);
+                }
+                recorder.record();
+            }
+        }).isInstanceOf(IOException.class);
+        assertThatThrownBy(recorder::close).isInstanceOf(IOException.class);
+    }
+}
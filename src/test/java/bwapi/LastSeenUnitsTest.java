@@ -0,0 +1,111 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+import bwapi.ClientData.UnitData;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class LastSeenUnitsTest {
+    private final Game game = mock(Game.class);
+    private final Unit[] units = new Unit[4];
+    private LastSeenUnits lastSeen;
+
+    @Before
+    public void setup() {
+        for (int id = 0; id < units.length; id++) {
+            units[id] = mock(Unit.class);
+            given(units[id].getID()).willReturn(id);
+            given(game.getUnit(id)).willReturn(units[id]);
+        }
+        lastSeen = new LastSeenUnits(game, 1024, 1024);
+        lastSeen.add(0, UnitType.Zerg_Zergling.id, 1, 100, 100, 35, 0, 50);
+        lastSeen.add(1, UnitType.Protoss_Dragoon.id, 1, 500, 500, 100, 80, 60);
+        lastSeen.add(2, UnitType.Zerg_Hatchery.id, 1, 900, 100, 1250, 0, 70);
+    }
+
+    @Test
+    public void keepsStateOfHiddenUnits() {
+        assertThat(lastSeen.size()).isEqualTo(3);
+        assertThat(lastSeen.contains(units[1])).isTrue();
+        assertThat(lastSeen.contains(units[3])).isFalse();
+        assertThat(lastSeen.getType(units[1])).isEqualTo(UnitType.Protoss_Dragoon);
+        assertThat(lastSeen.getPosition(units[1])).isEqualTo(new Position(500, 500));
+        assertThat(lastSeen.getShields(units[1])).isEqualTo(80);
+        assertThat(lastSeen.getFrame(units[2])).isEqualTo(70);
+
+        lastSeen.remove(1);
+        assertThat(lastSeen.getUnits()).containsExactly(units[0], units[2]);
+    }
+
+    @Test
+    public void findsUnitsByLastPosition() {
+        assertThat(lastSeen.getUnitsInRadius(new Position(150, 150), 100)).containsExactly(units[0]);
+        assertThat(lastSeen.getUnitsInRadius(new Position(500, 300), 1000)).containsExactly(units[0], units[1], units[2]);
+
+        // The hatchery reaches 49 pixels to the left of its position
+        assertThat(lastSeen.getUnitsInRectangle(new Position(800, 0), new Position(860, 200))).containsExactly(units[2]);
+
+        lastSeen.add(0, UnitType.Zerg_Zergling.id, 1, 880, 120, 35, 0, 80);
+        assertThat(lastSeen.getUnitsInRectangle(new Position(800, 0), new Position(1000, 200)))
+                .containsExactly(units[0], units[2]);
+        assertThat(lastSeen.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void keepsStateOfTheLastFrameAfterEvade() {
+        final GameData data = new ClientData(ByteBuffer.allocateDirect(GameData.SIZE).order(ByteOrder.nativeOrder()))
+                .new GameData(0);
+        data.setForceCount(1);
+        data.setPlayerCount(3);
+        data.setEnemy(1);
+        data.setNeutral(2);
+        data.setMapWidth(32);
+        data.setMapHeight(32);
+        final Client client = mock(Client.class);
+        given(client.data()).willReturn(data);
+        final Game game = new Game(client);
+        game.init();
+
+        data.setFrameCount(1);
+        final UnitData unitData = data.getUnits(5);
+        unitData.setExists(true);
+        unitData.setPlayer(1);
+        unitData.setType(UnitType.Protoss_Dragoon.id);
+        unitData.setPositionX(300);
+        unitData.setPositionY(400);
+        unitData.setHitPoints(60);
+        unitData.setShields(20);
+        game.unitShow(5);
+        final Unit dragoon = game.getUnit(5);
+        dragoon.updatePosition(1);
+        dragoon.updateType(1);
+        dragoon.updatePlayer(1);
+        game.onFrame(1);
+
+        // The server clears the data of the unit, then sends UnitEvade and UnitHide
+        data.setFrameCount(2);
+        unitData.setExists(false);
+        unitData.setPositionX(Position.Unknown.x);
+        unitData.setPositionY(Position.Unknown.y);
+        unitData.setHitPoints(0);
+        unitData.setShields(0);
+        dragoon.updatePosition(2);
+        game.unitHide(5);
+
+        final LastSeenUnits lastSeen = game.getLastSeenUnits();
+        assertThat(lastSeen.contains(dragoon)).isTrue();
+        assertThat(lastSeen.getType(dragoon)).isEqualTo(UnitType.Protoss_Dragoon);
+        assertThat(lastSeen.getPosition(dragoon)).isEqualTo(new Position(300, 400));
+        assertThat(lastSeen.getHitPoints(dragoon)).isEqualTo(60);
+        assertThat(lastSeen.getShields(dragoon)).isEqualTo(20);
+        assertThat(lastSeen.getFrame(dragoon)).isEqualTo(1);
+        assertThat(lastSeen.getUnitsInRadius(new Position(300, 400), 10)).containsExactly(dragoon);
+    }
+}
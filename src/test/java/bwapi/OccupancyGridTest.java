@@ -0,0 +1,98 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class OccupancyGridTest {
+    private static final int MAP_SIZE = 32;
+
+    private final Random random = new Random(3);
+    private final OccupancyGrid grid = new OccupancyGrid(MAP_SIZE, MAP_SIZE);
+    private final List<Unit> units = new ArrayList<>();
+
+    private Unit addUnit(final boolean flying) {
+        final Unit unit = mock(Unit.class);
+        final int left = random.nextInt(MAP_SIZE * 32) - 16;
+        final int top = random.nextInt(MAP_SIZE * 32) - 16;
+        given(unit.isFlying()).willReturn(flying);
+        given(unit.getLeft()).willReturn(left);
+        given(unit.getTop()).willReturn(top);
+        given(unit.getRight()).willReturn(left + random.nextInt(96));
+        given(unit.getBottom()).willReturn(top + random.nextInt(96));
+        units.add(unit);
+        return unit;
+    }
+
+    // The unit search canBuildHere does without the grid
+    private boolean overlapsGroundUnit(final int left, final int top, final int right, final int bottom) {
+        for (final Unit unit : units) {
+            if (!unit.isFlying() && unit.getLeft() <= right && unit.getRight() >= left &&
+                    unit.getTop() <= bottom && unit.getBottom() >= top) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void freeRectanglesDoNotOverlapGroundUnits() {
+        for (int i = 0; i < 40; i++) {
+            addUnit(i % 4 == 0);
+        }
+        grid.build(units);
+
+        for (int i = 0; i < 20000; i++) {
+            final int left = random.nextInt(MAP_SIZE * 32);
+            final int top = random.nextInt(MAP_SIZE * 32);
+            final int right = left + random.nextInt(128);
+            final int bottom = top + random.nextInt(128);
+            if (grid.isFree(left, top, right, bottom)) {
+                assertThat(overlapsGroundUnit(left, top, right, bottom))
+                        .as("(%d, %d, %d, %d)", left, top, right, bottom).isFalse();
+            }
+        }
+
+        units.clear();
+        grid.build(units);
+        assertThat(grid.isFree(0, 0, MAP_SIZE * 32 - 1, MAP_SIZE * 32 - 1)).isTrue();
+    }
+
+    @Test
+    public void reservationsAreCounted() {
+        grid.reserve(4, 4, 4, 3, 1);
+        grid.reserve(6, 5, 2, 2, 1);
+        assertThat(grid.isReserved(4, 4)).isTrue();
+        assertThat(grid.isReserved(7, 6)).isTrue();
+        assertThat(grid.isReserved(8, 6)).isFalse();
+        assertThat(grid.isReserved(4, 7)).isFalse();
+
+        // The tiles of the second reservation stay reserved
+        grid.reserve(4, 4, 4, 3, -1);
+        assertThat(grid.isReserved(4, 4)).isFalse();
+        assertThat(grid.isReserved(6, 5)).isTrue();
+        assertThat(grid.isReserved(7, 6)).isTrue();
+
+        // Releasing too often does not leave negative counts behind
+        grid.reserve(6, 5, 2, 2, -1);
+        grid.reserve(6, 5, 2, 2, -1);
+        assertThat(grid.isReserved(6, 5)).isFalse();
+        grid.reserve(6, 5, 1, 1, 1);
+        assertThat(grid.isReserved(6, 5)).isTrue();
+
+        // Clipped at the edges of the map
+        grid.reserve(-2, MAP_SIZE - 1, 4, 3, 1);
+        assertThat(grid.isReserved(0, MAP_SIZE - 1)).isTrue();
+        assertThat(grid.isReserved(1, MAP_SIZE - 1)).isTrue();
+        assertThat(grid.isReserved(2, MAP_SIZE - 1)).isFalse();
+
+        // Reservations do not count as units
+        assertThat(grid.isFree(6 * 32, 5 * 32, 6 * 32 + 31, 5 * 32 + 31)).isTrue();
+    }
+}
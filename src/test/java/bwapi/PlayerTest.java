@@ -1,7 +1,13 @@
 package bwapi;
 
+import bwapi.ClientData.GameData;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertFalse;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -18,4 +24,65 @@ public class PlayerTest {
 
         assertFalse(self.isEnemy(neutral));
     }
+
+    @Test
+    public void unitsFollowOwnershipChangesAndMorphs() {
+        final GameData data = new ClientData(ByteBuffer.allocateDirect(GameData.SIZE).order(ByteOrder.nativeOrder()))
+                .new GameData(0);
+        data.setForceCount(1);
+        data.setPlayerCount(3);
+        data.setSelf(0);
+        data.setEnemy(1);
+        data.setNeutral(2);
+        final Client client = mock(Client.class);
+        when(client.data()).thenReturn(data);
+        final Game game = new Game(client);
+        game.init();
+        final Player self = game.getPlayer(0);
+        final Player enemy = game.getPlayer(1);
+        final Set<Unit> selfUnits = self.getUnits();
+        final Set<Unit> enemyUnits = enemy.getUnits();
+
+        final ClientData.UnitData unitData = data.getUnits(5);
+        unitData.setPlayer(1);
+        unitData.setType(UnitType.Zerg_Hydralisk.id);
+        final Unit hydralisk = show(game, 5, 1);
+        assertThat(enemyUnits).containsExactly(hydralisk);
+        assertThat(enemy.getUnits(UnitType.Zerg_Hydralisk)).containsExactly(hydralisk);
+
+        // Mind controlled
+        unitData.setPlayer(0);
+        update(game, hydralisk, 2);
+        assertThat(enemyUnits).isEmpty();
+        assertThat(enemy.getUnits(UnitType.Zerg_Hydralisk)).isEmpty();
+        assertThat(selfUnits).containsExactly(hydralisk);
+        assertThat(self.getUnits(UnitType.Zerg_Hydralisk)).containsExactly(hydralisk);
+
+        // Morphing into a lurker
+        unitData.setType(UnitType.Zerg_Lurker_Egg.id);
+        update(game, hydralisk, 3);
+        assertThat(selfUnits).containsExactly(hydralisk);
+        assertThat(self.getUnits(UnitType.Zerg_Hydralisk)).isEmpty();
+        assertThat(self.getUnits(UnitType.Zerg_Lurker_Egg)).containsExactly(hydralisk);
+
+        game.unitHide(5);
+        assertThat(selfUnits).isEmpty();
+        assertThat(self.getUnits(UnitType.Zerg_Lurker_Egg)).isEmpty();
+    }
+
+    // As the event handler does for UnitShow
+    private static Unit show(final Game game, final int id, final int frame) {
+        game.unitShow(id);
+        final Unit unit = game.getUnit(id);
+        update(game, unit, frame);
+        return unit;
+    }
+
+    // As the event handler does for UnitRenegade and UnitMorph
+    private static void update(final Game game, final Unit unit, final int frame) {
+        unit.updatePosition(frame);
+        unit.updateType(frame);
+        unit.updatePlayer(frame);
+        game.updateUnitIndex(unit);
+    }
 }
@@ -0,0 +1,70 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PowerGridTest {
+    private static final int MAP_SIZE = 64;
+
+    private final Random random = new Random(11);
+    private final PowerGrid grid = new PowerGrid(MAP_SIZE, MAP_SIZE);
+    private final List<Position> pylons = new ArrayList<>();
+
+    // The check Game used to do for every pylon
+    private boolean hasPower(final int x, final int y) {
+        for (final Position p : pylons) {
+            if (Math.abs(p.x - x) < 256 && Math.abs(p.y - y) < 160 &&
+                    PowerGrid.PSI_FIELD_MASK[(y - p.y + 160) / 32][(x - p.x + 256) / 32]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addPylon() {
+        // Pylons are 2x2 tiles, so their center is on a tile corner
+        final Position pylon = new Position((random.nextInt(MAP_SIZE - 1) + 1) * 32, (random.nextInt(MAP_SIZE - 1) + 1) * 32);
+        pylons.add(pylon);
+        grid.add(pylon.x, pylon.y, 1);
+    }
+
+    private void assertMatchesPylons() {
+        for (int i = 0; i < 20000; i++) {
+            final int x = random.nextInt(MAP_SIZE * 32);
+            final int y = random.nextInt(MAP_SIZE * 32);
+            assertThat(grid.hasPower(x, y)).as("(%d, %d)", x, y).isEqualTo(hasPower(x, y));
+        }
+        // The edges of the fields
+        for (final Position pylon : pylons) {
+            for (int dx = -260; dx <= 260; dx += 4) {
+                for (int dy = -164; dy <= 164; dy += 4) {
+                    final int x = pylon.x + dx;
+                    final int y = pylon.y + dy;
+                    if (x >= 0 && y >= 0 && x < MAP_SIZE * 32 && y < MAP_SIZE * 32) {
+                        assertThat(grid.hasPower(x, y)).as("(%d, %d)", x, y).isEqualTo(hasPower(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void matchesPylonsAsTheyAreAddedAndRemoved() {
+        assertMatchesPylons();
+        for (int i = 0; i < 12; i++) {
+            addPylon();
+        }
+        assertMatchesPylons();
+
+        for (int i = 0; i < 8; i++) {
+            final Position pylon = pylons.remove(random.nextInt(pylons.size()));
+            grid.add(pylon.x, pylon.y, -1);
+        }
+        assertMatchesPylons();
+    }
+}
@@ -0,0 +1,58 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class RegionDistancesTest {
+
+    private static Region region(final int id, final boolean accessible) {
+        final Region region = mock(Region.class);
+        given(region.getID()).willReturn(id);
+        given(region.isAccessible()).willReturn(accessible);
+        return region;
+    }
+
+    private static void connect(final Region a, final Region b, final int distance) {
+        given(a.getDistance(b)).willReturn(distance);
+        given(b.getDistance(a)).willReturn(distance);
+    }
+
+    /**
+     * 0 - 1 - 2 in a row, with a longer direct way from 0 to 2 and an inaccessible region 3 next to 1 and 2.
+     * Region 4 is not connected.
+     */
+    @Test
+    public void findsShortestPathsBetweenAllRegions() {
+        final Region[] r = {region(0, true), region(1, true), region(2, true), region(3, false), region(4, true)};
+        given(r[0].getNeighbors()).willReturn(Arrays.asList(r[1], r[2]));
+        given(r[1].getNeighbors()).willReturn(Arrays.asList(r[0], r[2], r[3]));
+        given(r[2].getNeighbors()).willReturn(Arrays.asList(r[0], r[1], r[3]));
+        given(r[3].getNeighbors()).willReturn(Arrays.asList(r[1], r[2]));
+        given(r[4].getNeighbors()).willReturn(Arrays.asList());
+        connect(r[0], r[1], 100);
+        connect(r[1], r[2], 100);
+        connect(r[0], r[2], 250);
+        connect(r[1], r[3], 10);
+        connect(r[2], r[3], 10);
+        final List<Region> regions = Arrays.asList(r);
+
+        final RegionDistances distances = new RegionDistances(regions);
+
+        assertThat(distances.getDistance(0, 2)).isEqualTo(200);
+        assertThat(distances.getDistance(2, 0)).isEqualTo(200);
+        assertThat(distances.getNextRegion(0, 2)).isEqualTo(1);
+        assertThat(distances.getNextRegion(1, 2)).isEqualTo(2);
+        assertThat(distances.getNextRegion(2, 2)).isEqualTo(2);
+        assertThat(distances.getDistance(0, 3)).isEqualTo(-1);
+        assertThat(distances.getDistance(3, 0)).isEqualTo(-1);
+        assertThat(distances.getDistance(0, 4)).isEqualTo(-1);
+        assertThat(distances.getNextRegion(0, 4)).isEqualTo(-1);
+        assertThat(distances.getDistance(4, 4)).isEqualTo(0);
+    }
+}
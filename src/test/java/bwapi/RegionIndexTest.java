@@ -0,0 +1,73 @@
+package bwapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class RegionIndexTest {
+    private final Game game = mock(Game.class);
+    private final Player player = mock(Player.class);
+    private final Unit first = mock(Unit.class);
+    private final Unit second = mock(Unit.class);
+    private RegionIndex index;
+
+    @Before
+    public void setup() {
+        given(player.getID()).willReturn(1);
+        // Region 0 left of x = 320, region 1 right of it
+        given(game.getRegionIDAt(anyInt(), anyInt())).willAnswer(i -> (int) i.getArgument(0) < 320 ? 0 : 1);
+        unit(first, 4, new Position(100, 100));
+        unit(second, 2, new Position(500, 100));
+        index = new RegionIndex(game, 2, 12);
+    }
+
+    private void unit(final Unit unit, final int id, final Position position) {
+        given(unit.getID()).willReturn(id);
+        given(unit.getPosition()).willReturn(position);
+        given(unit.getPlayer()).willReturn(player);
+        given(game.getUnit(id)).willReturn(unit);
+    }
+
+    @Test
+    public void movesUnitsBetweenRegions() {
+        index.update(Arrays.asList(second, first), 64);
+        assertThat(index.getUnits(0)).containsExactly(first);
+        assertThat(index.getUnits(1)).containsExactly(second);
+        assertThat(index.getUnitCount(1, 1)).isEqualTo(1);
+
+        given(first.getPosition()).willReturn(new Position(400, 100));
+        index.update(Arrays.asList(second, first), 64);
+        assertThat(index.getUnits(0)).isEmpty();
+        assertThat(index.getUnits(1)).containsExactly(second, first);
+        assertThat(index.getUnitCount(1)).isEqualTo(2);
+        assertThat(index.getUnitCount(1, 1)).isEqualTo(2);
+        assertThat(index.getUnitCount(0, 1)).isEqualTo(0);
+
+        index.remove(2);
+        assertThat(index.getUnits(1)).containsExactly(first);
+        assertThat(index.getUnitCount(1, 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void looksUpRegionOnlyWhenTileChanges() {
+        index.update(Collections.singletonList(first), 64);
+        given(first.getPosition()).willReturn(new Position(110, 100));
+        index.update(Collections.singletonList(first), 64);
+        verify(game, times(1)).getRegionIDAt(anyInt(), anyInt());
+
+        given(first.getPosition()).willReturn(new Position(130, 100));
+        index.update(Collections.singletonList(first), 64);
+        verify(game, times(1)).getRegionIDAt(130, 100);
+        verify(game, never()).getRegionIDAt(110, 100);
+    }
+}
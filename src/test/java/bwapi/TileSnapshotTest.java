@@ -0,0 +1,65 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TileSnapshotTest {
+    private static final int MAP_SIZE = 32;
+
+    private final GameData data = new ClientData(ByteBuffer.allocateDirect(GameData.SIZE).order(ByteOrder.nativeOrder()))
+            .new GameData(0);
+    private final TileSnapshot snapshot = new TileSnapshot(MAP_SIZE, MAP_SIZE);
+
+    private static Set<TilePosition> tiles(final TileSnapshot.TileChanges changes) {
+        final Set<TilePosition> tiles = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            tiles.add(new TilePosition(changes.getX(i), changes.getY(i)));
+        }
+        return tiles;
+    }
+
+    @Test
+    public void reportsTheTilesThatChanged() {
+        // More than the initial capacity of the change lists
+        for (int x = 0; x < 10; x++) {
+            for (int y = 0; y < 10; y++) {
+                data.setIsVisible(x, y, true);
+                data.setIsExplored(x, y, true);
+            }
+        }
+        data.setHasCreep(20, 30, true);
+        snapshot.update(data, 1);
+
+        assertThat(snapshot.getFrame()).isEqualTo(1);
+        assertThat(snapshot.getVisibleChanges().size()).isEqualTo(100);
+        assertThat(snapshot.getExploredChanges().size()).isEqualTo(100);
+        assertThat(tiles(snapshot.getCreepChanges())).containsExactly(new TilePosition(20, 30));
+        assertThat(snapshot.isVisible(9, 9)).isTrue();
+        assertThat(snapshot.isVisible(10, 9)).isFalse();
+        assertThat(snapshot.hasCreep(20, 30)).isTrue();
+
+        // The unit moved away, the tiles it left stay explored
+        data.setIsVisible(0, 0, false);
+        data.setIsVisible(31, 31, true);
+        data.setIsExplored(31, 31, true);
+        snapshot.update(data, 2);
+
+        assertThat(tiles(snapshot.getVisibleChanges())).containsExactlyInAnyOrder(new TilePosition(0, 0), new TilePosition(31, 31));
+        assertThat(tiles(snapshot.getExploredChanges())).containsExactly(new TilePosition(31, 31));
+        assertThat(snapshot.getCreepChanges().size()).isZero();
+        assertThat(snapshot.isVisible(0, 0)).isFalse();
+        assertThat(snapshot.isExplored(0, 0)).isTrue();
+        assertThat(snapshot.isVisible(31, 31)).isTrue();
+
+        snapshot.update(data, 3);
+        assertThat(snapshot.getVisibleChanges().size()).isZero();
+        assertThat(snapshot.getExploredChanges().size()).isZero();
+    }
+}
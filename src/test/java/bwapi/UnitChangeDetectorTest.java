@@ -0,0 +1,74 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class UnitChangeDetectorTest {
+    private final UnitChangeDetector detector = new UnitChangeDetector();
+    private final Game game = mock(Game.class);
+    private final List<String> changes = new ArrayList<>();
+    private final UnitChangeListener listener = new DefaultUnitChangeListener() {
+        @Override
+        public void onUnitDamaged(final Unit unit, final int hitPointsLost, final int shieldsLost) {
+            changes.add("damaged " + hitPointsLost + " " + shieldsLost);
+        }
+
+        @Override
+        public void onOrderChanged(final Unit unit, final Order previousOrder) {
+            changes.add("order " + previousOrder + " " + unit.getOrder());
+        }
+
+        @Override
+        public void onTargetChanged(final Unit unit, final Unit previousTarget) {
+            changes.add("target " + (previousTarget == null ? "none" : previousTarget.getID()));
+        }
+
+        @Override
+        public void onStartedAttack(final Unit unit) {
+            changes.add("attack");
+        }
+    };
+
+    private static Unit unit(final int hitPoints, final int shields, final Order order, final Unit target) {
+        final Unit unit = mock(Unit.class);
+        given(unit.getID()).willReturn(3);
+        given(unit.getHitPoints()).willReturn(hitPoints);
+        given(unit.getShields()).willReturn(shields);
+        given(unit.getOrder()).willReturn(order);
+        given(unit.getTarget()).willReturn(target);
+        return unit;
+    }
+
+    @Test
+    public void reportsChangesSincePreviousFrame() {
+        final Unit target = mock(Unit.class);
+        given(target.getID()).willReturn(7);
+
+        detector.update(Collections.singletonList(unit(80, 60, Order.Move, null)), 0, game, listener);
+        assertThat(changes).isEmpty();
+
+        detector.update(Collections.singletonList(unit(80, 60, Order.Move, null)), 1, game, listener);
+        assertThat(changes).isEmpty();
+
+        final Unit attacking = unit(75, 40, Order.AttackUnit, target);
+        given(attacking.isStartingAttack()).willReturn(true);
+        detector.update(Collections.singletonList(attacking), 2, game, listener);
+        assertThat(changes).containsExactly("damaged 5 20", "order Move AttackUnit", "target none", "attack");
+    }
+
+    @Test
+    public void ignoresUnitsNotSeenInPreviousFrame() {
+        detector.update(Collections.singletonList(unit(80, 60, Order.Move, null)), 0, game, listener);
+        detector.update(Collections.emptyList(), 1, game, listener);
+        detector.update(Collections.singletonList(unit(10, 0, Order.Stop, null)), 2, game, listener);
+
+        assertThat(changes).isEmpty();
+    }
+}
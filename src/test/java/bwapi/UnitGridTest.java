@@ -0,0 +1,82 @@
+package bwapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+public class UnitGridTest {
+    private static final int MAP_SIZE = 64 * 32;
+
+    private final Random random = new Random(7);
+    private final List<Unit> allUnits = new ArrayList<>();
+    // Without onFrame the game has no grid and scans all units
+    private final Game linear = new Game(mock(Client.class)) {
+        @Override
+        public List<Unit> getAllUnits() {
+            return allUnits;
+        }
+    };
+    private final UnitGrid grid = new UnitGrid();
+
+    @Before
+    public void setup() {
+        final UnitType[] types = {UnitType.Terran_Marine, UnitType.Zerg_Ultralisk, UnitType.Terran_Command_Center,
+                UnitType.Protoss_Carrier, UnitType.Zerg_Hatchery, UnitType.Resource_Mineral_Field, UnitType.Zerg_Larva};
+        for (int i = 0; i < 400; i++) {
+            // Some units are off the map or clustered near the top left corner
+            final int x = i % 10 == 0 ? random.nextInt(80) - 20 : random.nextInt(MAP_SIZE + 200) - 100;
+            final int y = i % 10 == 0 ? random.nextInt(80) - 20 : random.nextInt(MAP_SIZE + 200) - 100;
+            final Unit unit = mock(Unit.class, withSettings().stubOnly().defaultAnswer(CALLS_REAL_METHODS));
+            given(unit.getPosition()).willReturn(new Position(x, y));
+            given(unit.getType()).willReturn(types[random.nextInt(types.length)]);
+            allUnits.add(unit);
+        }
+        grid.build(allUnits, MAP_SIZE, MAP_SIZE);
+    }
+
+    @Test
+    public void rectangleQueriesMatchLinearScan() {
+        for (int i = 0; i < 200; i++) {
+            final int left = random.nextInt(MAP_SIZE + 400) - 200;
+            final int top = random.nextInt(MAP_SIZE + 400) - 200;
+            final int right = left + random.nextInt(600) - 50;
+            final int bottom = top + random.nextInt(600) - 50;
+            final UnitFilter filter = u -> u.getType() != UnitType.Zerg_Larva;
+            assertThat(grid.getUnitsInRectangle(left, top, right, bottom, filter))
+                    .containsExactlyElementsOf(linear.getUnitsInRectangle(left, top, right, bottom, filter));
+        }
+    }
+
+    @Test
+    public void radiusQueriesMatchLinearScan() {
+        for (int i = 0; i < 200; i++) {
+            final Position center = new Position(random.nextInt(MAP_SIZE + 400) - 200, random.nextInt(MAP_SIZE + 400) - 200);
+            final int radius = random.nextInt(800) - 10;
+            assertThat(grid.getUnitsInRadius(center.x, center.y, radius, u -> true))
+                    .containsExactlyElementsOf(linear.getUnitsInRadius(center, radius, u -> true));
+        }
+    }
+
+    @Test
+    public void tileQueriesMatchLinearScan() {
+        for (final Unit unit : allUnits) {
+            final TilePosition tile = unit.getTilePosition();
+            assertThat(grid.getUnitsOnTile(tile.x, tile.y))
+                    .containsExactlyElementsOf(linear.getUnitsOnTile(tile.x, tile.y));
+        }
+        for (int i = 0; i < 200; i++) {
+            final int x = random.nextInt(70) - 3;
+            final int y = random.nextInt(70) - 3;
+            assertThat(grid.getUnitsOnTile(x, y)).containsExactlyElementsOf(linear.getUnitsOnTile(x, y));
+        }
+    }
+}
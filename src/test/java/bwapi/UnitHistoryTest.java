@@ -0,0 +1,51 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class UnitHistoryTest {
+    private final UnitHistory history = new UnitHistory(4);
+    private final Unit unit = mock(Unit.class);
+
+    private void record(final int frame, final int x, final int hitPoints, final int shields) {
+        given(unit.getID()).willReturn(2);
+        given(unit.getPosition()).willReturn(new Position(x, 100));
+        given(unit.getHitPoints()).willReturn(hitPoints);
+        given(unit.getShields()).willReturn(shields);
+        history.record(Collections.singletonList(unit), frame);
+    }
+
+    @Test
+    public void keepsLastFrames() {
+        for (int frame = 0; frame < 6; frame++) {
+            record(frame, 10 * frame, 100 - frame, 0);
+        }
+
+        assertThat(history.getPositionAt(unit, 0)).isEqualTo(new Position(50, 100));
+        assertThat(history.getX(unit, 3)).isEqualTo(20);
+        assertThat(history.getHitPoints(unit, 2)).isEqualTo(97);
+        assertThat(history.hasRecord(unit, 4)).isFalse();
+        assertThat(history.getPositionAt(unit, 4)).isNull();
+        assertThat(history.getVelocityX(unit, 3)).isEqualTo(10);
+        assertThat(history.getVelocityY(unit, 3)).isEqualTo(0);
+        assertThat(history.getDamageTakenPerFrame(unit, 3)).isEqualTo(1);
+    }
+
+    @Test
+    public void framesWithoutRecordEndTheWindow() {
+        record(0, 0, 100, 50);
+        record(1, 8, 100, 40);
+        history.record(Collections.emptyList(), 2);
+        record(3, 30, 90, 40);
+        record(4, 36, 80, 40);
+
+        assertThat(history.hasRecord(unit, 2)).isFalse();
+        assertThat(history.getVelocityX(unit, 3)).isEqualTo(6);
+        assertThat(history.getDamageTakenPerFrame(unit, 3)).isEqualTo(10);
+    }
+}
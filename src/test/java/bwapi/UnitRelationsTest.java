@@ -0,0 +1,47 @@
+package bwapi;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class UnitRelationsTest {
+    private final UnitRelations relations = new UnitRelations();
+
+    private static Unit unit(final int id) {
+        final Unit unit = mock(Unit.class);
+        given(unit.getID()).willReturn(id);
+        return unit;
+    }
+
+    @Test
+    public void viewsFollowTheFrames() {
+        final Unit hatchery = unit(3);
+        final Unit first = unit(7);
+        final Unit second = unit(8);
+        given(first.getHatchery()).willReturn(hatchery);
+        given(second.getHatchery()).willReturn(hatchery);
+        relations.build(Arrays.asList(hatchery, first, second));
+
+        final Set<Unit> larva = relations.getLarva(3);
+        assertThat(larva).containsExactlyInAnyOrder(first, second);
+        assertThat(larva.contains(first)).isTrue();
+        assertThat(relations.getLarva(3)).isSameAs(larva);
+        assertThat(relations.getLoadedUnits(3)).isEmpty();
+        assertThat(relations.getLarva(-1)).isEmpty();
+        assertThat(catchThrowable(() -> larva.add(hatchery))).isInstanceOf(UnsupportedOperationException.class);
+
+        // The next frame, the first larva morphed
+        given(first.getHatchery()).willReturn(null);
+        relations.build(Arrays.asList(hatchery, first, second));
+
+        assertThat(larva).containsExactly(second);
+        assertThat(larva.contains(first)).isFalse();
+        assertThat(relations.getLarva(5)).isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+package bwapi;
+
+import bwapi.ClientData.GameData;
+import bwapi.ClientData.UnitData;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class UnitTableTest {
+    private final List<Unit> allUnits = new ArrayList<>();
+    private int frame;
+    private final Game game = new Game(mock(Client.class)) {
+        @Override
+        public List<Unit> getAllUnits() {
+            return allUnits;
+        }
+
+        @Override
+        public int getFrameCount() {
+            return frame;
+        }
+    };
+
+    private static Unit unit(final int id, final int hitPoints) {
+        final Unit unit = mock(Unit.class);
+        given(unit.getID()).willReturn(id);
+        given(unit.getPosition()).willReturn(new Position(32 * id, 16));
+        given(unit.getType()).willReturn(UnitType.Terran_Marine);
+        given(unit.getOrder()).willReturn(Order.PlayerGuard);
+        given(unit.getHitPoints()).willReturn(hitPoints);
+        return unit;
+    }
+
+    @Test
+    public void isBuiltOnFirstAccessOncePerFrame() {
+        final Unit marine = unit(4, 40);
+        allUnits.add(marine);
+        verify(marine, never()).getHitPoints();
+
+        final UnitTable table = game.getUnitTable();
+        assertThat(game.getUnitTable()).isSameAs(table);
+        verify(marine, times(1)).getHitPoints();
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.getRow(marine)).isZero();
+        assertThat(table.getHitPoints()[0]).isEqualTo(40);
+
+        // The next frame the marine took damage and another one showed up
+        frame++;
+        given(marine.getHitPoints()).willReturn(34);
+        final Unit other = unit(9, 40);
+        allUnits.add(other);
+
+        assertThat(game.getUnitTable()).isSameAs(table);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.getHitPoints()[table.getRow(marine)]).isEqualTo(34);
+        assertThat(table.getUnit(table.getRow(other))).isSameAs(other);
+    }
+
+    @Test
+    public void tableOfAnEventHandlerIsBuiltAgainAfterOnFrame() {
+        final GameData data = new ClientData(ByteBuffer.allocateDirect(GameData.SIZE).order(ByteOrder.nativeOrder()))
+                .new GameData(0);
+        data.setForceCount(1);
+        data.setPlayerCount(3);
+        data.setNeutral(2);
+        data.setMapWidth(16);
+        data.setMapHeight(16);
+        final Client client = mock(Client.class);
+        given(client.data()).willReturn(data);
+        final Game game = new Game(client);
+        game.init();
+
+        data.setFrameCount(1);
+        final Unit marine = show(game, data, 1, 100);
+        game.onFrame(1);
+
+        // The marine moved and a second one shows up, a handler of its UnitShow event reads the table
+        data.setFrameCount(2);
+        data.getUnits(1).setPositionX(140);
+        final Unit other = show(game, data, 2, 300);
+        final UnitTable table = game.getUnitTable();
+        assertThat(table.getRow(other)).isEqualTo(-1);
+        assertThat(table.getX()[table.getRow(marine)]).isEqualTo(100);
+
+        game.onFrame(2);
+        assertThat(game.getUnitTable().size()).isEqualTo(2);
+        assertThat(table.getX()[table.getRow(marine)]).isEqualTo(140);
+        assertThat(table.getUnit(table.getRow(other))).isSameAs(other);
+    }
+
+    // As the event handler does for UnitShow
+    private static Unit show(final Game game, final GameData data, final int id, final int x) {
+        final UnitData unitData = data.getUnits(id);
+        unitData.setExists(true);
+        unitData.setType(UnitType.Terran_Marine.id);
+        unitData.setPositionX(x);
+        unitData.setPositionY(100);
+        game.unitShow(id);
+        final Unit unit = game.getUnit(id);
+        unit.updatePosition(data.getFrameCount());
+        unit.updateType(data.getFrameCount());
+        unit.updatePlayer(data.getFrameCount());
+        game.updateUnitIndex(unit);
+        return unit;
+    }
+}
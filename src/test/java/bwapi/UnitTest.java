@@ -1,13 +1,23 @@
 package bwapi;
 
+import bwapi.ClientData.GameData;
+import bwapi.ClientData.UnitData;
 import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -64,6 +74,91 @@ public class UnitTest {
         }
     }
 
+    @Test
+    public void commandChecksAreComputedAgainEveryFrame() {
+        final GameData data = gameData();
+        final Game game = game(data, mock(Client.class));
+        final Unit marine = show(game, data, 1, UnitType.Terran_Marine);
+        assertTrue(marine.canCommand());
+        assertTrue(marine.canIssueCommandType(UnitCommandType.Move));
+
+        // Stays the same for the rest of the frame
+        data.getUnits(1).setLockdownTimer(100);
+        assertTrue(marine.canCommand());
+        assertTrue(marine.canIssueCommandType(UnitCommandType.Move));
+
+        data.setFrameCount(2);
+        assertFalse(marine.canCommand());
+        assertFalse(marine.canIssueCommandType(UnitCommandType.Move));
+
+        data.setFrameCount(3);
+        data.getUnits(1).setLockdownTimer(0);
+        assertTrue(marine.canCommand());
+        assertTrue(marine.canIssueCommandType(UnitCommandType.Move));
+    }
+
+    @Test
+    public void uncheckedCommandStillSelectsLarva() {
+        final GameData data = gameData();
+        final Client client = mock(Client.class);
+        final Game game = game(data, client);
+        final Unit hatchery = show(game, data, 1, UnitType.Zerg_Hatchery);
+        data.getUnits(2).setHatchery(1);
+        final Unit larva = show(game, data, 2, UnitType.Zerg_Larva);
+        game.onFrame(1);
+
+        // Not enough minerals
+        assertFalse(hatchery.train(UnitType.Zerg_Zergling));
+        verify(client, never()).addUnitCommand(anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt());
+
+        assertTrue(hatchery.issueCommand(UnitCommand.train(hatchery, UnitType.Zerg_Zergling), false));
+        verify(client).addUnitCommand(UnitCommandType.Train.id, larva.getID(), -1, -1, -1, UnitType.Zerg_Zergling.id);
+    }
+
+    private static GameData gameData() {
+        final GameData data = new ClientData(ByteBuffer.allocateDirect(GameData.SIZE).order(ByteOrder.nativeOrder()))
+                .new GameData(0);
+        data.setForceCount(1);
+        data.setPlayerCount(3);
+        data.setSelf(0);
+        data.setEnemy(1);
+        data.setNeutral(2);
+        data.setMapWidth(16);
+        data.setMapHeight(16);
+        data.setFrameCount(1);
+        return data;
+    }
+
+    private static Game game(final GameData data, final Client client) {
+        when(client.data()).thenReturn(data);
+        final Game game = new Game(client);
+        game.init();
+        return game;
+    }
+
+    // A completed unit of the own player
+    private static Unit show(final Game game, final GameData data, final int id, final UnitType type) {
+        final UnitData unitData = data.getUnits(id);
+        unitData.setExists(true);
+        unitData.setIsCompleted(true);
+        unitData.setIsPowered(true);
+        unitData.setIsInterruptible(true);
+        unitData.setPositionX(200);
+        unitData.setPositionY(200);
+        unitData.setTransport(-1);
+        unitData.setType(type.id);
+        unitData.setPlayer(0);
+        if (type != UnitType.Zerg_Larva) {
+            unitData.setHatchery(-1);
+        }
+        game.unitShow(id);
+        final Unit unit = game.getUnit(id);
+        unit.updatePosition(1);
+        unit.updateType(1);
+        unit.updatePlayer(1);
+        return unit;
+    }
+
     private Unit createUnit(UnitType type, Position position) {
         Unit u = mock(Unit.class);
         when(u.getType()).thenReturn(type);
@@ -0,0 +1,89 @@
+package bwapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that the VarHandle WrappedBuffer of the multi-release jar reads and writes the same memory layout as the
+ * default one. The JDK 9+ class is loaded straight from the build output, it only exists when built on JDK 9+.
+ */
+public class WrappedBufferTest {
+    private static final Path JAVA9_CLASS = Paths.get("target", "classes", "META-INF", "versions", "9", "bwapi", "WrappedBuffer.class");
+
+    private final ByteBuffer memory = ByteBuffer.allocateDirect(256);
+    private WrappedBuffer buffer;
+    private Object java9Buffer;
+
+    @Before
+    public void setup() throws Exception {
+        assumeTrue(Files.exists(JAVA9_CLASS));
+        final byte[] bytes = Files.readAllBytes(JAVA9_CLASS);
+        final ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+                if (name.equals("bwapi.WrappedBuffer")) {
+                    synchronized (getClassLoadingLock(name)) {
+                        final Class<?> loaded = findLoadedClass(name);
+                        return loaded != null ? loaded : defineClass(name, bytes, 0, bytes.length);
+                    }
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+        final Constructor<?> constructor = loader.loadClass("bwapi.WrappedBuffer").getDeclaredConstructor(ByteBuffer.class);
+        constructor.setAccessible(true);
+        java9Buffer = constructor.newInstance(memory);
+        assertThat(java9Buffer.getClass()).isNotSameAs(WrappedBuffer.class);
+        buffer = new WrappedBuffer(memory);
+    }
+
+    private Object java9(final String method, final Object... args) throws Exception {
+        for (final Method m : java9Buffer.getClass().getDeclaredMethods()) {
+            if (m.getName().equals(method) && m.getParameterCount() == args.length) {
+                m.setAccessible(true);
+                return m.invoke(java9Buffer, args);
+            }
+        }
+        throw new NoSuchMethodException(method);
+    }
+
+    @Test
+    public void readsWhatTheDefaultBufferWrites() throws Exception {
+        buffer.putByte(0, (byte) -3);
+        buffer.putShort(2, (short) -12345);
+        buffer.putInt(4, 0x12345678);
+        buffer.putDouble(8, 1.5);
+        buffer.putString(16, 32, "Terran Marine");
+
+        assertThat(java9("getByte", 0)).isEqualTo((byte) -3);
+        assertThat(java9("getShort", 2)).isEqualTo((short) -12345);
+        assertThat(java9("getInt", 4)).isEqualTo(0x12345678);
+        assertThat(java9("getDouble", 8)).isEqualTo(1.5);
+        assertThat(java9("getString", 16, 32)).isEqualTo("Terran Marine");
+    }
+
+    @Test
+    public void writesWhatTheDefaultBufferReads() throws Exception {
+        java9("putByte", 0, (byte) 7);
+        java9("putShort", 2, (short) 4321);
+        java9("putInt", 4, -42);
+        java9("putDouble", 8, -0.25);
+        java9("putString", 16, 32, "Zerg Hatchery");
+
+        assertThat(buffer.getByte(0)).isEqualTo((byte) 7);
+        assertThat(buffer.getShort(2)).isEqualTo((short) 4321);
+        assertThat(buffer.getInt(4)).isEqualTo(-42);
+        assertThat(buffer.getDouble(8)).isEqualTo(-0.25);
+        assertThat(buffer.getString(16, 32)).isEqualTo("Zerg Hatchery");
+    }
+}